@@ -0,0 +1,91 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.DefaultCodegen;
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of all definitions, operations and properties of a flattened synthetic spec into the
+ * codegen models of a language.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DefaultCodegenBenchmark {
+
+    @Param({"java", "typescript-angular", "python", "go"})
+    public String language;
+
+    @Param({"10", "100"})
+    public int definitions;
+
+    @Param({"1", "3"})
+    public int depth;
+
+    private DefaultCodegen config;
+    private Swagger swagger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = (DefaultCodegen) CodegenConfigLoader.forName(language);
+        config.processOpts();
+        swagger = SyntheticSpec.parse(SyntheticSpec.json(definitions, depth));
+        new InlineModelResolver().flatten(swagger);
+        config.preprocessSwagger(swagger);
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        Map<String, Model> allDefinitions = swagger.getDefinitions();
+        for (Map.Entry<String, Model> definition : allDefinitions.entrySet()) {
+            blackhole.consume(config.fromModel(definition.getKey(), definition.getValue(), allDefinitions));
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+            for (Map.Entry<HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                blackhole.consume(config.fromOperation(path.getKey(), operation.getKey().name().toLowerCase(),
+                        operation.getValue(), swagger.getDefinitions(), swagger));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fromProperty(Blackhole blackhole) {
+        for (Model model : swagger.getDefinitions().values()) {
+            if (model.getProperties() == null) {
+                continue;
+            }
+            for (Map.Entry<String, Property> property : model.getProperties().entrySet()) {
+                blackhole.consume(config.fromProperty(property.getKey(), property.getValue()));
+            }
+        }
+    }
+}
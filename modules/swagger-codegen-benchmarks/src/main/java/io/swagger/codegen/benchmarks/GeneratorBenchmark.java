@@ -0,0 +1,79 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.DefaultGenerator;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end generation of a client for a synthetic spec, from the parsed spec to the files on disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"java", "typescript-angular", "python", "go"})
+    public String language;
+
+    @Param({"10", "100"})
+    public int definitions;
+
+    @Param({"1", "3"})
+    public int depth;
+
+    private String json;
+    private File outputDir;
+    private ClientOptInput input;
+
+    @Setup(Level.Trial)
+    public void createSpec() {
+        json = SyntheticSpec.json(definitions, depth);
+    }
+
+    // the generator modifies the spec and the config, every invocation needs fresh ones
+    @Setup(Level.Invocation)
+    public void createInput() throws IOException {
+        outputDir = Files.createTempDirectory("swagger-codegen-benchmark").toFile();
+        CodegenConfig config = CodegenConfigLoader.forName(language);
+        config.setOutputDir(outputDir.getAbsolutePath());
+        input = new ClientOptInput()
+                .opts(new ClientOpts())
+                .swagger(SyntheticSpec.parse(json))
+                .config(config);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteOutput() {
+        FileUtils.deleteQuietly(outputDir);
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return new DefaultGenerator().opts(input).generate();
+    }
+}
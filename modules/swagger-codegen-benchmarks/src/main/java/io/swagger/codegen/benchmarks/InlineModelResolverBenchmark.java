@@ -0,0 +1,56 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flattening of the inline models of a synthetic spec.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InlineModelResolverBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int definitions;
+
+    @Param({"1", "3"})
+    public int depth;
+
+    private String json;
+    private Swagger swagger;
+
+    @Setup(Level.Trial)
+    public void createSpec() {
+        json = SyntheticSpec.json(definitions, depth);
+    }
+
+    // flatten modifies the spec, every invocation needs a fresh copy
+    @Setup(Level.Invocation)
+    public void parseSpec() {
+        swagger = SyntheticSpec.parse(json);
+    }
+
+    @Benchmark
+    public Swagger flatten() {
+        new InlineModelResolver().flatten(swagger);
+        return swagger;
+    }
+}
@@ -0,0 +1,165 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.DefaultCodegen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The naming helpers of {@link DefaultCodegen} compared to the regular expressions they replaced.
+ *
+ * Generators convert the same names over and over, so the corpus is converted repeatedly and the memoized
+ * results of the helpers are part of the measurement. The setup fails if any result differs from the
+ * regular expressions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NamingBenchmark {
+
+    private static final String[] NAMES = {
+            "pet", "Pet", "petId", "pet_id", "PET_ID", "pet-id", "pet id", "pet.id", "x-rate-limit",
+            "X-Request-ID", "api_key", "ApiResponse", "HTTPResponseCode", "IOError", "user.name",
+            "io.swagger.model.Pet", "io/swagger/model/Pet", "/store/order/{orderId}", "input[]", "input[a][b]",
+            "input(a)(b)", "$php_variable", "$", "_private", "__dunder__", "123number", "value_1_2",
+            "snake_case_with_many_words", "kebab-case-with-many-words", "createdAt", "updated-at",
+            "Inline_response_200", "inline_response_default", "Model42Details0Details1"
+    };
+
+    private DefaultCodegen codegen;
+
+    @Setup(Level.Trial)
+    public void verify() {
+        codegen = new DefaultCodegen();
+        for (String name : NAMES) {
+            check("camelize", name, DefaultCodegen.camelize(name), regexCamelize(name, false));
+            check("camelize", name, DefaultCodegen.camelize(name, true), regexCamelize(name, true));
+            check("underscore", name, DefaultCodegen.underscore(name), regexUnderscore(name));
+            check("sanitizeName", name, codegen.sanitizeName(name), regexSanitizeName(name));
+        }
+    }
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(DefaultCodegen.camelize(name));
+            blackhole.consume(DefaultCodegen.camelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void camelizeRegex(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(regexCamelize(name, false));
+            blackhole.consume(regexCamelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(DefaultCodegen.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public void underscoreRegex(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(regexUnderscore(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeName(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(codegen.sanitizeName(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeNameRegex(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(regexSanitizeName(name));
+        }
+    }
+
+    private static void check(String helper, String name, String actual, String expected) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(helper + "(\"" + name + "\") returned \"" + actual
+                    + "\" instead of \"" + expected + "\"");
+        }
+    }
+
+    private static String regexCamelize(String word, boolean lowercaseFirstLetter) {
+        Pattern p = Pattern.compile("\\/(.?)");
+        Matcher m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("." + m.group(1));
+            m = p.matcher(word);
+        }
+        StringBuilder f = new StringBuilder();
+        for (String z : word.split("\\.")) {
+            if (z.length() > 0) {
+                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+            }
+        }
+        word = f.toString();
+        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+        m = p.matcher(word);
+        if (m.find()) {
+            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
+            rep = rep.replaceAll("\\$", "\\\\\\$");
+            word = m.replaceAll(rep);
+        }
+        p = Pattern.compile("(_)(.)");
+        m = p.matcher(word);
+        while (m.find()) {
+            String original = m.group(2);
+            String upperCase = original.toUpperCase();
+            word = original.equals(upperCase) ? word.replaceFirst("_", "") : m.replaceFirst(upperCase);
+            m = p.matcher(word);
+        }
+        p = Pattern.compile("(-)(.)");
+        m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst(m.group(2).toUpperCase());
+            m = p.matcher(word);
+        }
+        if (lowercaseFirstLetter && word.length() > 0) {
+            word = word.substring(0, 1).toLowerCase() + word.substring(1);
+        }
+        return word;
+    }
+
+    private static String regexUnderscore(String word) {
+        word = word.replaceAll("\\.", "/").replaceAll("\\$", "__");
+        word = word.replaceAll("([A-Z]+)([A-Z][a-z])", "$1_$2").replaceAll("([a-z\\d])([A-Z])", "$1_$2");
+        return word.replace('-', '_').replace(' ', '_').toLowerCase();
+    }
+
+    private static String regexSanitizeName(String name) {
+        if ("$".equals(name)) {
+            return "value";
+        }
+        name = name.replaceAll("\\[\\]", "").replaceAll("\\[", "_").replaceAll("\\]", "");
+        name = name.replaceAll("\\(", "_").replaceAll("\\)", "");
+        name = name.replaceAll("\\.", "_").replaceAll("-", "_").replaceAll(" ", "_");
+        return name.replaceAll("\\W", "");
+    }
+}
@@ -0,0 +1,161 @@
+package io.swagger.codegen.benchmarks;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+
+/**
+ * Synthetic specifications of a configurable size.
+ *
+ * Every definition {@code ModelN} has scalar, enum, array and map properties, a reference to the previous
+ * definition and a chain of inline objects {@code depth} levels deep, which the {@code InlineModelResolver}
+ * turns into additional models. Every definition has a collection resource with a list and a create
+ * operation and an item resource with a get and a delete operation, spread over ten tags.
+ */
+public class SyntheticSpec {
+
+    private static final JsonNodeFactory FACTORY = JsonNodeFactory.instance;
+
+    private SyntheticSpec() {
+    }
+
+    /**
+     * @param definitions the number of definitions
+     * @param depth the nesting depth of the inline objects of each definition
+     * @return the specification in JSON
+     */
+    public static String json(int definitions, int depth) {
+        ObjectNode spec = FACTORY.objectNode();
+        spec.put("swagger", "2.0");
+        ObjectNode info = spec.putObject("info");
+        info.put("title", "Synthetic API");
+        info.put("description", definitions + " definitions nested " + depth + " levels deep");
+        info.put("version", "1.0.0");
+        spec.put("host", "api.example.com");
+        spec.put("basePath", "/v1");
+        spec.putArray("schemes").add("https");
+        spec.putArray("consumes").add("application/json");
+        spec.putArray("produces").add("application/json");
+
+        ObjectNode paths = spec.putObject("paths");
+        ObjectNode models = spec.putObject("definitions");
+        for (int i = 0; i < definitions; i++) {
+            String name = "Model" + i;
+            models.set(name, model(i, depth));
+
+            ObjectNode collection = paths.putObject("/models" + i);
+            ObjectNode list = operation(collection.putObject("get"), "list" + name, i);
+            list.putArray("parameters").add(parameter("limit", "query", "integer", false));
+            ObjectNode array = FACTORY.objectNode();
+            array.put("type", "array");
+            array.set("items", ref(name));
+            response(list, "200", array);
+
+            ObjectNode create = operation(collection.putObject("post"), "create" + name, i);
+            ObjectNode body = FACTORY.objectNode();
+            body.put("name", "body");
+            body.put("in", "body");
+            body.put("required", true);
+            body.set("schema", ref(name));
+            create.putArray("parameters").add(body);
+            response(create, "201", ref(name));
+
+            ObjectNode item = paths.putObject("/models" + i + "/{id}");
+            item.putArray("parameters").add(parameter("id", "path", "integer", true));
+            response(operation(item.putObject("get"), "get" + name, i), "200", ref(name));
+            response(operation(item.putObject("delete"), "delete" + name, i), "204", null);
+        }
+        return spec.toString();
+    }
+
+    /**
+     * @param json a specification
+     * @return the parsed specification
+     */
+    public static Swagger parse(String json) {
+        return new SwaggerParser().parse(json);
+    }
+
+    private static ObjectNode model(int index, int depth) {
+        ObjectNode model = FACTORY.objectNode();
+        model.put("type", "object");
+        model.put("description", "Synthetic model " + index);
+        model.putArray("required").add("id").add("name");
+        ObjectNode properties = model.putObject("properties");
+        properties.set("id", property("integer", "int64"));
+        properties.set("name", property("string", null));
+        properties.set("createdAt", property("string", "date-time"));
+        properties.set("price", property("number", "double"));
+        properties.set("active", property("boolean", null));
+
+        ObjectNode status = property("string", null);
+        status.putArray("enum").add("available").add("pending").add("sold");
+        properties.set("status", status);
+
+        ObjectNode tags = FACTORY.objectNode();
+        tags.put("type", "array");
+        tags.set("items", property("string", null));
+        properties.set("tags", tags);
+
+        ObjectNode attributes = FACTORY.objectNode();
+        attributes.put("type", "object");
+        attributes.set("additionalProperties", property("string", null));
+        properties.set("attributes", attributes);
+
+        if (index > 0) {
+            properties.set("previous", ref("Model" + (index - 1)));
+        }
+
+        ObjectNode nested = properties;
+        for (int level = 0; level < depth; level++) {
+            ObjectNode inline = FACTORY.objectNode();
+            inline.put("type", "object");
+            ObjectNode inlineProperties = inline.putObject("properties");
+            inlineProperties.set("label", property("string", null));
+            inlineProperties.set("count", property("integer", "int32"));
+            nested.set("details" + level, inline);
+            nested = inlineProperties;
+        }
+        return model;
+    }
+
+    private static ObjectNode operation(ObjectNode operation, String operationId, int index) {
+        operation.putArray("tags").add("group" + (index % 10));
+        operation.put("summary", operationId);
+        operation.put("operationId", operationId);
+        return operation;
+    }
+
+    private static void response(ObjectNode operation, String code, ObjectNode schema) {
+        ObjectNode response = operation.putObject("responses").putObject(code);
+        response.put("description", "response " + code);
+        if (schema != null) {
+            response.set("schema", schema);
+        }
+    }
+
+    private static ObjectNode parameter(String name, String in, String type, boolean required) {
+        ObjectNode parameter = FACTORY.objectNode();
+        parameter.put("name", name);
+        parameter.put("in", in);
+        parameter.put("type", type);
+        parameter.put("required", required);
+        return parameter;
+    }
+
+    private static ObjectNode property(String type, String format) {
+        ObjectNode property = FACTORY.objectNode();
+        property.put("type", type);
+        if (format != null) {
+            property.put("format", format);
+        }
+        return property;
+    }
+
+    private static ObjectNode ref(String name) {
+        ObjectNode ref = FACTORY.objectNode();
+        ref.put("$ref", "#/definitions/" + name);
+        return ref;
+    }
+}
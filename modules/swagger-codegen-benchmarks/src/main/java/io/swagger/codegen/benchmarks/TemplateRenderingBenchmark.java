@@ -0,0 +1,91 @@
+package io.swagger.codegen.benchmarks;
+
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.DefaultGenerator;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.NullWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of all templates of a language for a synthetic spec, without writing the output.
+ *
+ * The compiled templates and their data are captured from a generator run during the setup, so only the
+ * Mustache rendering is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TemplateRenderingBenchmark {
+
+    @Param({"java", "typescript-angular", "python", "go"})
+    public String language;
+
+    @Param({"10", "100"})
+    public int definitions;
+
+    private final List<Template> templates = new ArrayList<Template>();
+    private final List<Object> contexts = new ArrayList<Object>();
+    private final Writer writer = new NullWriter();
+    private File outputDir;
+
+    @Setup(Level.Trial)
+    public void captureTemplates() throws IOException {
+        outputDir = Files.createTempDirectory("swagger-codegen-benchmark").toFile();
+        CodegenConfig config = CodegenConfigLoader.forName(language);
+        config.setOutputDir(outputDir.getAbsolutePath());
+        ClientOptInput input = new ClientOptInput()
+                .opts(new ClientOpts())
+                .swagger(SyntheticSpec.parse(SyntheticSpec.json(definitions, 2)))
+                .config(config);
+
+        new DefaultGenerator() {
+            @Override
+            protected File writeToFile(String filename, Template template, Object context) {
+                synchronized (templates) {
+                    templates.add(template);
+                    contexts.add(context);
+                }
+                return new File(filename);
+            }
+        }.opts(input).generate();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutput() {
+        FileUtils.deleteQuietly(outputDir);
+    }
+
+    @Benchmark
+    public void render() {
+        for (int i = 0; i < templates.size(); i++) {
+            templates.get(i).execute(contexts.get(i), writer);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.swagger.codegen.cmd;
+
+import io.airlift.airline.Arguments;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.BatchGenerator;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.Swagger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Generates several targets from one spec, which is parsed once.
+ */
+@Command(name = "batch", description = "Generate several targets, e.g. clients in different languages, "
+        + "from one spec which is only parsed once")
+public class Batch implements Runnable {
+
+    @Option(name = {"-i", "--input-spec"}, title = "spec file", required = true,
+            description = "location of the swagger spec, as URL or file (required)")
+    private String spec;
+
+    @Option(
+            name = {"-a", "--auth"},
+            title = "authorization",
+            description = "adds authorization headers when fetching the swagger definitions remotely. "
+                    + "Pass in a URL-encoded string of name:header with a comma separating multiple values")
+    private String auth;
+
+    @Option(name = {"--threads"}, title = "threads",
+            description = "number of targets generated concurrently (the number of processors by default)")
+    private Integer threads;
+
+    @Arguments(title = "configuration files", required = true,
+            description = "json configuration files of the targets, in the format of the -c option of generate, "
+                    + "with at least the lang and outputDir options")
+    private List<String> configFiles = new ArrayList<>();
+
+    @Override
+    public void run() {
+        List<CodegenConfigurator> targets = new ArrayList<>();
+        for (String configFile : configFiles) {
+            CodegenConfigurator target = CodegenConfigurator.fromFile(configFile);
+            if (target == null) {
+                throw new RuntimeException("Unable to read the configuration file " + configFile);
+            }
+            target.setInputSpec(spec);
+            if (isNotEmpty(auth)) {
+                target.setAuth(auth);
+            }
+            targets.add(target);
+        }
+
+        Swagger swagger = new CodegenConfigurator().setInputSpec(spec).setAuth(auth).readSwagger();
+        if (swagger == null) {
+            throw new RuntimeException("Unable to read the spec " + spec);
+        }
+        new BatchGenerator(swagger)
+                .threads(threads != null ? threads : Runtime.getRuntime().availableProcessors())
+                .generate(targets);
+    }
+}
@@ -6,12 +6,17 @@ import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
 import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.codegen.instrumentation.Profiler;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static io.swagger.codegen.config.CodegenConfiguratorUtils.*;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -172,6 +177,30 @@ public class Generate implements Runnable {
             description = CodegenConstants.REMOVE_OPERATION_ID_PREFIX_DESC)
     private Boolean removeOperationIdPrefix;
 
+    @Option(name = {"--threads"}, title = "threads",
+            description = CodegenConstants.THREADS_DESC)
+    private Integer threads;
+
+    @Option(name = {"--incremental"}, title = "incremental generation",
+            description = CodegenConstants.INCREMENTAL_DESC)
+    private Boolean incremental;
+
+    @Option(name = {"--snapshot"}, title = "snapshot",
+            description = CodegenConstants.SNAPSHOT_DESC)
+    private Boolean snapshot;
+
+    @Option(name = {"--snapshot-dir"}, title = "snapshot directory",
+            description = CodegenConstants.SNAPSHOT_DIR_DESC)
+    private String snapshotDir;
+
+    @Option(name = {"--profile"}, title = "profile",
+            description = "print the wall time, CPU time and allocated memory of the phases of the generation")
+    private Boolean profile;
+
+    @Option(name = {"--profile-report"}, title = "profile report file",
+            description = "write the wall time, CPU time and allocated memory of the phases of the generation as JSON to the given file")
+    private String profileReport;
+
     @Override
     public void run() {
 
@@ -273,6 +302,22 @@ public class Generate implements Runnable {
             configurator.setRemoveOperationIdPrefix(removeOperationIdPrefix);
         }
 
+        if (threads != null) {
+            configurator.setThreads(threads);
+        }
+
+        if (incremental != null) {
+            configurator.setIncremental(incremental);
+        }
+
+        if (snapshot != null) {
+            configurator.setSnapshot(snapshot);
+        }
+
+        if (isNotEmpty(snapshotDir)) {
+            configurator.setSnapshotDir(snapshotDir);
+        }
+
         applySystemPropertiesKvpList(systemProperties, configurator);
         applyInstantiationTypesKvpList(instantiationTypes, configurator);
         applyImportMappingsKvpList(importMappings, configurator);
@@ -282,6 +327,24 @@ public class Generate implements Runnable {
         applyReservedWordsMappingsKvpList(reservedWordsMappings, configurator);
         final ClientOptInput clientOptInput = configurator.toClientOptInput();
 
-        new DefaultGenerator().opts(clientOptInput).generate();
+        DefaultGenerator generator = new DefaultGenerator();
+        Profiler profiler = null;
+        if (Boolean.TRUE.equals(profile) || isNotEmpty(profileReport)) {
+            profiler = new Profiler();
+            generator.setInstrumentation(profiler);
+        }
+
+        generator.opts(clientOptInput).generate();
+
+        if (Boolean.TRUE.equals(profile)) {
+            System.out.print(profiler.toTable());
+        }
+        if (isNotEmpty(profileReport)) {
+            try {
+                FileUtils.writeStringToFile(new File(profileReport), profiler.toJson(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to write the profile report to " + profileReport, e);
+            }
+        }
     }
 }
@@ -487,6 +487,30 @@ public class GenerateTest {
         };
     }
 
+    @Test
+    public void testThreads() throws Exception {
+        setupAndRunGenericTest("--threads", "4");
+
+        new FullVerifications() {
+            {
+                configurator.setThreads(4);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        setupAndRunGenericTest("--incremental");
+
+        new FullVerifications() {
+            {
+                configurator.setIncremental(true);
+                times = 1;
+            }
+        };
+    }
+
     private void setupAndRunTest(String specFlag, final String spec, String langFlag,
             final String lang, String outputDirFlag, final String outputDir,
             boolean configuratorFromFile, final String configFile, String... additionalParameters) {
@@ -0,0 +1,118 @@
+package io.swagger.codegen.plugin;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import io.swagger.codegen.BatchGenerator;
+import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.Swagger;
+
+/**
+ * Goal which generates several targets, e.g. clients in different languages, from one swagger json/yaml
+ * definition, which is only parsed once.
+ */
+@Mojo(name = "batch", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
+public class BatchCodeGenMojo extends AbstractMojo {
+
+    /**
+     * Location of the swagger spec, as URL or file.
+     */
+    @Parameter(name = "inputSpec", required = true)
+    private String inputSpec;
+
+    /**
+     * Adds authorization headers when fetching the swagger definitions remotely. " Pass in a
+     * URL-encoded string of name:header with a comma separating multiple values
+     */
+    @Parameter(name = "auth")
+    private String auth;
+
+    /**
+     * The targets to generate
+     */
+    @Parameter(name = "targets", required = true)
+    private List<BatchTarget> targets;
+
+    /**
+     * Number of targets generated concurrently, the number of processors by default
+     */
+    @Parameter(name = "threads", property = "codegen.batch.threads", required = false)
+    private Integer threads;
+
+    /**
+     * Skip the execution.
+     */
+    @Parameter(name = "skip", property = "codegen.skip", required = false, defaultValue = "false")
+    private Boolean skip;
+
+    /**
+     * The project being built.
+     */
+    @Parameter(readonly = true, required = true, defaultValue = "${project}")
+    private MavenProject project;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        List<CodegenConfigurator> configurators = new ArrayList<CodegenConfigurator>();
+        List<String> compileSourceRoots = new ArrayList<String>();
+        for (BatchTarget target : targets) {
+            CodegenConfigurator configurator = target.toConfigurator();
+            configurator.setInputSpec(inputSpec);
+            if (isNotEmpty(auth)) {
+                configurator.setAuth(auth);
+            }
+            configurators.add(configurator);
+            if (target.isAddCompileSourceRoot()) {
+                compileSourceRoots.add(compileSourceRoot(configurator));
+            }
+        }
+
+        if (skip) {
+            getLog().info("Code generation is skipped.");
+            // Even when no new sources are generated, the existing ones should
+            // still be compiled if needed.
+            addCompileSourceRoots(compileSourceRoots);
+            return;
+        }
+
+        try {
+            Swagger swagger = new CodegenConfigurator().setInputSpec(inputSpec).setAuth(auth).readSwagger();
+            if (swagger == null) {
+                throw new MojoExecutionException("Unable to read the spec " + inputSpec);
+            }
+            new BatchGenerator(swagger)
+                    .threads(threads != null ? threads : Runtime.getRuntime().availableProcessors())
+                    .generate(configurators);
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            getLog().error(e);
+            throw new MojoExecutionException(
+                    "Code generation failed. See above for the full exception.");
+        }
+
+        addCompileSourceRoots(compileSourceRoots);
+    }
+
+    private static String compileSourceRoot(CodegenConfigurator configurator) {
+        final Object sourceFolderObject = configurator.getAdditionalProperties().get(CodegenConstants.SOURCE_FOLDER);
+        final String sourceFolder = sourceFolderObject == null ? "src/main/java" : sourceFolderObject.toString();
+        return configurator.getOutputDir() + "/" + sourceFolder;
+    }
+
+    private void addCompileSourceRoots(List<String> compileSourceRoots) {
+        for (String compileSourceRoot : compileSourceRoots) {
+            project.addCompileSourceRoot(compileSourceRoot);
+        }
+    }
+}
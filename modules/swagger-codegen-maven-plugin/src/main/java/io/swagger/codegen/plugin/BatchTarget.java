@@ -0,0 +1,101 @@
+package io.swagger.codegen.plugin;
+
+import java.io.File;
+import java.util.Map;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+
+/**
+ * A target of the batch goal, configured like the generate goal.
+ */
+public class BatchTarget {
+
+    /**
+     * Client language to generate.
+     */
+    private String language;
+
+    /**
+     * Location of the output directory.
+     */
+    private File output;
+
+    /**
+     * Sets the library
+     */
+    private String library;
+
+    /**
+     * The package to use for generated model objects/classes
+     */
+    private String modelPackage;
+
+    /**
+     * The package to use for generated api objects/classes
+     */
+    private String apiPackage;
+
+    /**
+     * The package to use for the generated invoker objects
+     */
+    private String invokerPackage;
+
+    /**
+     * Folder containing the template files.
+     */
+    private File templateDirectory;
+
+    /**
+     * Path to separate json configuration file.
+     */
+    private String configurationFile;
+
+    /**
+     * A map of language-specific parameters as passed with the -c option to the command line
+     */
+    private Map<?, ?> configOptions;
+
+    /**
+     * Add the output directory to the project as a source root, so that the generated java types
+     * are compiled and included in the project artifact.
+     */
+    private boolean addCompileSourceRoot = true;
+
+    boolean isAddCompileSourceRoot() {
+        return addCompileSourceRoot;
+    }
+
+    CodegenConfigurator toConfigurator() {
+        CodegenConfigurator configurator = CodegenConfigurator.fromFile(configurationFile);
+        if (configurator == null) {
+            configurator = new CodegenConfigurator();
+        }
+        if (language != null) {
+            configurator.setLang(language);
+        }
+        if (output != null) {
+            configurator.setOutputDir(output.getAbsolutePath());
+        }
+        if (library != null) {
+            configurator.setLibrary(library);
+        }
+        if (modelPackage != null) {
+            configurator.setModelPackage(modelPackage);
+        }
+        if (apiPackage != null) {
+            configurator.setApiPackage(apiPackage);
+        }
+        if (invokerPackage != null) {
+            configurator.setInvokerPackage(invokerPackage);
+        }
+        if (templateDirectory != null) {
+            configurator.setTemplateDir(templateDirectory.getAbsolutePath());
+        }
+        if (configOptions != null) {
+            for (Map.Entry<?, ?> configOption : configOptions.entrySet()) {
+                configurator.addAdditionalProperty(configOption.getKey().toString(), configOption.getValue());
+            }
+        }
+        return configurator;
+    }
+}
@@ -29,10 +29,12 @@ import static io.swagger.codegen.config.CodegenConfiguratorUtils.applyReservedWo
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -46,6 +48,7 @@ import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
 import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.codegen.instrumentation.Profiler;
 
 /**
  * Goal which generates client/server code from a swagger json/yaml definition.
@@ -178,6 +181,42 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "ignoreFileOverride", required = false)
     private String ignoreFileOverride;
 
+    /**
+     * Number of threads used to render and write the generated files
+     */
+    @Parameter(name = "threads", property = "codegen.threads", required = false)
+    private Integer threads;
+
+    /**
+     * Only render and write the files whose inputs changed since the previous generation
+     */
+    @Parameter(name = "incremental", property = "codegen.incremental", required = false)
+    private Boolean incremental;
+
+    /**
+     * Keep a snapshot of the parsed spec, which later builds read instead of parsing the unchanged spec again
+     */
+    @Parameter(name = "snapshot", property = "codegen.snapshot", required = false)
+    private Boolean snapshot;
+
+    /**
+     * Directory of the spec snapshots, .swagger-codegen/snapshots in the output directory by default
+     */
+    @Parameter(name = "snapshotDirectory", property = "codegen.snapshotDirectory", required = false)
+    private File snapshotDirectory;
+
+    /**
+     * Log the wall time, CPU time and allocated memory of the phases of the generation
+     */
+    @Parameter(name = "profile", property = "codegen.profile", defaultValue = "false")
+    private boolean profile;
+
+    /**
+     * Write the wall time, CPU time and allocated memory of the phases of the generation as JSON to this file
+     */
+    @Parameter(name = "profileReport", property = "codegen.profileReport", required = false)
+    private File profileReport;
+
     /**
      * A map of language-specific parameters as passed with the -c option to the command line
      */
@@ -406,30 +445,47 @@ public class CodeGenMojo extends AbstractMojo {
             configurator.setTemplateDir(templateDirectory.getAbsolutePath());
         }
 
-        // Set generation options
+        if (threads != null) {
+            configurator.setThreads(threads);
+        }
+
+        if (incremental != null) {
+            configurator.setIncremental(incremental);
+        }
+
+        if (snapshot != null) {
+            configurator.setSnapshot(snapshot);
+        }
+
+        if (snapshotDirectory != null) {
+            configurator.setSnapshotDir(snapshotDirectory.getAbsolutePath());
+        }
+
+        // Set generation options, these only apply to this execution so that executions of parallel builds
+        // don't interfere. A null value hides a system property of the same name.
         if (null != generateApis && generateApis) {
-            System.setProperty(CodegenConstants.APIS, "");
+            configurator.addSystemProperty(CodegenConstants.APIS, "");
         } else {
-            System.clearProperty(CodegenConstants.APIS);
+            configurator.addSystemProperty(CodegenConstants.APIS, null);
         }
 
         if (null != generateModels && generateModels) {
-            System.setProperty(CodegenConstants.MODELS, modelsToGenerate);
+            configurator.addSystemProperty(CodegenConstants.MODELS, modelsToGenerate);
         } else {
-            System.clearProperty(CodegenConstants.MODELS);
+            configurator.addSystemProperty(CodegenConstants.MODELS, null);
         }
 
         if (null != generateSupportingFiles && generateSupportingFiles) {
-            System.setProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesToGenerate);
+            configurator.addSystemProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesToGenerate);
         } else {
-            System.clearProperty(CodegenConstants.SUPPORTING_FILES);
+            configurator.addSystemProperty(CodegenConstants.SUPPORTING_FILES, null);
         }
 
-        System.setProperty(CodegenConstants.MODEL_TESTS, generateModelTests.toString());
-        System.setProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.toString());
-        System.setProperty(CodegenConstants.API_TESTS, generateApiTests.toString());
-        System.setProperty(CodegenConstants.API_DOCS, generateApiDocumentation.toString());
-        System.setProperty(CodegenConstants.WITH_XML, withXml.toString());
+        configurator.addSystemProperty(CodegenConstants.MODEL_TESTS, generateModelTests.toString());
+        configurator.addSystemProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.toString());
+        configurator.addSystemProperty(CodegenConstants.API_TESTS, generateApiTests.toString());
+        configurator.addSystemProperty(CodegenConstants.API_DOCS, generateApiDocumentation.toString());
+        configurator.addSystemProperty(CodegenConstants.WITH_XML, withXml.toString());
 
         if (configOptions != null) {
             // Retained for backwards-compataibility with configOptions -> instantiation-types
@@ -534,7 +590,21 @@ public class CodeGenMojo extends AbstractMojo {
             return;
         }
         try {
-            new DefaultGenerator().opts(input).generate();
+            DefaultGenerator generator = new DefaultGenerator();
+            Profiler profiler = null;
+            if (profile || profileReport != null) {
+                profiler = new Profiler();
+                generator.setInstrumentation(profiler);
+            }
+
+            generator.opts(input).generate();
+
+            if (profile) {
+                getLog().info("Profile of the generation:\n" + profiler.toTable());
+            }
+            if (profileReport != null) {
+                FileUtils.writeStringToFile(profileReport, profiler.toJson(), StandardCharsets.UTF_8);
+            }
         } catch (Exception e) {
             // Maven logs exceptions thrown by plugins only if invoked with -e
             // I find it annoying to jump through hoops to get basic diagnostic information,
@@ -77,30 +77,43 @@ public abstract class AbstractGenerator {
      * @return String Full template file path
      */
     public String getFullTemplateFile(CodegenConfig config, String templateFile) {
+        return getFullTemplateFile(config.templateDir(), config.embeddedTemplateDir(), config.getLibrary(), templateFile);
+    }
+
+    /**
+     * Get the template file path with template dir prepended, and use the
+     * library template if exists.
+     *
+     * @param templateDir Template dir
+     * @param embeddedTemplateDir Embedded template dir
+     * @param library Library, may be empty
+     * @param templateFile Template file
+     * @return String Full template file path
+     */
+    protected String getFullTemplateFile(String templateDir, String embeddedTemplateDir, String library, String templateFile) {
         //1st the code will check if there's a <template folder>/libraries/<library> folder containing the file
         //2nd it will check for the file in the specified <template folder> folder
         //3rd it will check if there's an <embedded template>/libraries/<library> folder containing the file
         //4th and last it will assume the file is in <embedded template> folder.
 
         //check the supplied template library folder for the file
-        final String library = config.getLibrary();
         if (StringUtils.isNotEmpty(library)) {
             //look for the file in the library subfolder of the supplied template
-            final String libTemplateFile = buildLibraryFilePath(config.templateDir(), library, templateFile);
+            final String libTemplateFile = buildLibraryFilePath(templateDir, library, templateFile);
             if (new File(libTemplateFile).exists()) {
                 return libTemplateFile;
             }
         }
 
         //check the supplied template main folder for the file
-        final String template = config.templateDir() + File.separator + templateFile;
+        final String template = templateDir + File.separator + templateFile;
         if (new File(template).exists()) {
             return template;
         }
 
         //try the embedded template library folder next
         if (StringUtils.isNotEmpty(library)) {
-            final String embeddedLibTemplateFile = buildLibraryFilePath(config.embeddedTemplateDir(), library, templateFile);
+            final String embeddedLibTemplateFile = buildLibraryFilePath(embeddedTemplateDir, library, templateFile);
             if (embeddedTemplateExists(embeddedLibTemplateFile)) {
                 // Fall back to the template file embedded/packaged in the JAR file library folder...
                 return embeddedLibTemplateFile;
@@ -108,7 +121,7 @@ public abstract class AbstractGenerator {
         }
             
         // Fall back to the template file embedded/packaged in the JAR file...
-        return config.embeddedTemplateDir() + File.separator + templateFile;
+        return embeddedTemplateDir + File.separator + templateFile;
     }
 
     public String readResourceContents(String resourceFilePath) {
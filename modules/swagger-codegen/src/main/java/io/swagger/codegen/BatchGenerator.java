@@ -0,0 +1,118 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.codegen.instrumentation.Instrumentation;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates several targets, e.g. clients in different languages, from one spec.
+ *
+ * The spec is parsed once by the caller. Every target is generated from its own copy of the parsed spec, as
+ * the codegens modify the spec they generate, so the targets can be generated concurrently. The inline models
+ * are resolved per target after its codegen preprocessed the spec, as in a single generation.
+ */
+public class BatchGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchGenerator.class);
+
+    private final Swagger swagger;
+    private int threads = 1;
+    private Instrumentation instrumentation = Instrumentation.NOOP;
+
+    /**
+     * @param swagger the parsed spec, which is left unchanged
+     */
+    public BatchGenerator(Swagger swagger) {
+        if (swagger == null) {
+            throw new RuntimeException("missing swagger input!");
+        }
+        this.swagger = swagger;
+    }
+
+    /**
+     * @param threads the number of targets generated concurrently
+     * @return this generator
+     */
+    public BatchGenerator threads(int threads) {
+        this.threads = Math.max(1, threads);
+        return this;
+    }
+
+    /**
+     * @param instrumentation receives the phases of all targets, null to report nothing
+     * @return this generator
+     */
+    public BatchGenerator instrumentation(Instrumentation instrumentation) {
+        this.instrumentation = instrumentation != null ? instrumentation : Instrumentation.NOOP;
+        return this;
+    }
+
+    /**
+     * Generate all targets. A failed target doesn't stop the others.
+     *
+     * @param targets the configurations of the targets, their input spec is only used for reference
+     * @return the files generated for every target, in the order of the targets
+     * @throws RuntimeException if a target failed, after all targets finished
+     */
+    public List<List<File>> generate(List<CodegenConfigurator> targets) {
+        final JsonNode spec = Json.mapper().valueToTree(swagger);
+
+        List<Callable<List<File>>> tasks = new ArrayList<>();
+        for (final CodegenConfigurator target : targets) {
+            tasks.add(() -> {
+                // a copy per target, which its codegen is free to modify
+                Swagger copy = new SwaggerParser().read(spec, false);
+                DefaultGenerator generator = new DefaultGenerator();
+                generator.setInstrumentation(instrumentation);
+                return generator.opts(target.toClientOptInput(copy)).generate();
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, tasks.size())),
+                new ThreadFactoryBuilder().setNameFormat("batch-generator-%d").setDaemon(true).build());
+        try {
+            List<Future<List<File>>> futures = executor.invokeAll(tasks);
+            List<List<File>> files = new ArrayList<>();
+            List<String> failed = new ArrayList<>();
+            Throwable failure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                CodegenConfigurator target = targets.get(i);
+                try {
+                    files.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    LOGGER.error("Generation of " + target.getLang() + " into " + target.getOutputDir() + " failed",
+                            e.getCause());
+                    failed.add(target.getLang());
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (failure != null) {
+                throw new RuntimeException("Generation of " + failed.size() + " of " + targets.size()
+                        + " targets failed: " + failed, failure);
+            }
+            return files;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -10,7 +10,10 @@ public class ClientOpts {
     protected String target;
     protected AuthMethod auth;
     protected Map<String, String> properties = new HashMap<String, String>();
+    protected Map<String, String> generatorProperties = new HashMap<String, String>();
     protected String outputDirectory;
+    protected int threads = 1;
+    protected boolean incremental;
 
     public String getUri() {
         return uri;
@@ -36,6 +39,18 @@ public class ClientOpts {
         this.properties = properties;
     }
 
+    /**
+     * @return the switches of this generator run (e.g. models, apis, supportingFiles, debugModels) which
+     * take precedence over the system properties of the same name
+     */
+    public Map<String, String> getGeneratorProperties() {
+        return generatorProperties;
+    }
+
+    public void setGeneratorProperties(Map<String, String> generatorProperties) {
+        this.generatorProperties = generatorProperties;
+    }
+
     public String getOutputDirectory() {
         return outputDirectory;
     }
@@ -44,6 +59,22 @@ public class ClientOpts {
         this.outputDirectory = outputDirectory;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -70,6 +101,12 @@ public class ClientOpts {
             return false;
         if (properties != null ? !properties.equals(that.properties) : that.properties != null)
             return false;
+        if (generatorProperties != null ? !generatorProperties.equals(that.generatorProperties) : that.generatorProperties != null)
+            return false;
+        if (threads != that.threads)
+            return false;
+        if (incremental != that.incremental)
+            return false;
         return outputDirectory != null ? outputDirectory.equals(that.outputDirectory) : that.outputDirectory == null;
 
     }
@@ -80,7 +117,10 @@ public class ClientOpts {
         result = 31 * result + (target != null ? target.hashCode() : 0);
         result = 31 * result + (auth != null ? auth.hashCode() : 0);
         result = 31 * result + (properties != null ? properties.hashCode() : 0);
+        result = 31 * result + (generatorProperties != null ? generatorProperties.hashCode() : 0);
         result = 31 * result + (outputDirectory != null ? outputDirectory.hashCode() : 0);
+        result = 31 * result + threads;
+        result = 31 * result + (incremental ? 1 : 0);
         return result;
     }
 }
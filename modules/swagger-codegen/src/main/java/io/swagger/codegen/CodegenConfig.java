@@ -23,6 +23,12 @@ public interface CodegenConfig {
 
     Map<String, Object> vendorExtensions();
 
+    /**
+     * @return the generator properties of the run, e.g. debugParser, which take precedence over the system
+     * properties of the same name, see {@link DefaultGenerator#setGeneratorProperty(String, String)}
+     */
+    Map<String, String> generatorProperties();
+
     String testPackage();
 
     String apiPackage();
@@ -177,6 +183,14 @@ public interface CodegenConfig {
 
     void setRemoveOperationIdPrefix(boolean removeOperationIdPrefix);
 
+    /**
+     * @return true if {@link #fromOperation} is called again for every tag of an operation, false if the
+     * operation is converted once and every further tag gets a {@link CodegenOperation#clone() copy}
+     */
+    boolean isFromOperationPerTag();
+
+    void setFromOperationPerTag(boolean fromOperationPerTag);
+
     public boolean isHideGenerationTimestamp();
 
     public void setHideGenerationTimestamp(boolean hideGenerationTimestamp);
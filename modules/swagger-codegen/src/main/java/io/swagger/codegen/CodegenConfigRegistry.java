@@ -0,0 +1,116 @@
+package io.swagger.codegen;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * The {@link CodegenConfig} implementations registered with SPI, indexed by name.
+ *
+ * The SPI of the class loader of this library is scanned once. Every config is instantiated once by the scan,
+ * afterwards {@link #newInstance(String)} only creates an instance of the requested config. Other class loaders
+ * are scanned on every lookup, a registry holds the classes of its configs and would keep their loader alive.
+ */
+public class CodegenConfigRegistry {
+
+    private static CodegenConfigRegistry instance;
+
+    private final Map<String, Registration> registrations = new LinkedHashMap<String, Registration>();
+
+    CodegenConfigRegistry(Iterable<CodegenConfig> configs) {
+        for (CodegenConfig config : configs) {
+            // the first registration of a name wins, as it did for the linear SPI scan
+            if (!registrations.containsKey(config.getName())) {
+                registrations.put(config.getName(), new Registration(config.getTag(), factory(config.getClass())));
+            }
+        }
+    }
+
+    /**
+     * @return the registry of the configs visible to the context class loader of the current thread
+     */
+    public static CodegenConfigRegistry getInstance() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = CodegenConfig.class.getClassLoader();
+        }
+        if (classLoader != CodegenConfig.class.getClassLoader()) {
+            return new CodegenConfigRegistry(ServiceLoader.load(CodegenConfig.class, classLoader));
+        }
+        synchronized (CodegenConfigRegistry.class) {
+            if (instance == null) {
+                instance = new CodegenConfigRegistry(ServiceLoader.load(CodegenConfig.class, classLoader));
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * @return the names of the registered configs, in the order of their registration
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<String>(registrations.keySet()));
+    }
+
+    /**
+     * @param tag the type of the configs
+     * @return the names of the registered configs of the given type, in the order of their registration
+     */
+    public List<String> getNames(CodegenType tag) {
+        List<String> names = new ArrayList<String>();
+        for (Map.Entry<String, Registration> entry : registrations.entrySet()) {
+            if (entry.getValue().tag == tag) {
+                names.add(entry.getKey());
+            }
+        }
+        return names;
+    }
+
+    public boolean contains(String name) {
+        return registrations.containsKey(name);
+    }
+
+    /**
+     * @param name the name of a config
+     * @return a new instance of the config, or null if no config of the given name is registered
+     */
+    public CodegenConfig newInstance(String name) {
+        Registration registration = registrations.get(name);
+        return registration != null ? registration.factory.get() : null;
+    }
+
+    private static Supplier<CodegenConfig> factory(final Class<? extends CodegenConfig> type) {
+        final Constructor<? extends CodegenConfig> constructor;
+        try {
+            // SPI requires a public no-arg constructor
+            constructor = type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Config class " + type.getName() + " has no public no-arg constructor", e);
+        }
+        return new Supplier<CodegenConfig>() {
+            @Override
+            public CodegenConfig get() {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new RuntimeException("Can't instantiate config class " + type.getName(), e);
+                }
+            }
+        };
+    }
+
+    private static class Registration {
+        private final CodegenType tag;
+        private final Supplier<CodegenConfig> factory;
+
+        Registration(CodegenType tag, Supplier<CodegenConfig> factory) {
+            this.tag = tag;
+            this.factory = factory;
+        }
+    }
+}
@@ -230,4 +230,16 @@ public class CodegenConstants {
 
     public static final String STRIP_PACKAGE_NAME = "stripPackageName";
     public static final String STRIP_PACKAGE_NAME_DESC = "Whether to strip leading dot-separated packages from generated model classes";
+
+    public static final String THREADS = "threads";
+    public static final String THREADS_DESC = "Number of threads used to render templates and write the generated files (1 by default, renders sequentially).";
+
+    public static final String INCREMENTAL = "incremental";
+    public static final String INCREMENTAL_DESC = "Only render and write files whose inputs changed since the previous generation, as recorded in .swagger-codegen/manifest.json.";
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String SNAPSHOT_DESC = "Keep a snapshot of the parsed spec, which later runs read instead of parsing the unchanged spec again.";
+
+    public static final String SNAPSHOT_DIR = "snapshotDir";
+    public static final String SNAPSHOT_DIR_DESC = "Directory of the spec snapshots, e.g. a cache directory shared by several projects (.swagger-codegen/snapshots in the output directory by default).";
 }
@@ -8,6 +8,8 @@ import java.util.TreeSet;
 import java.util.Objects;
 
 import io.swagger.models.ExternalDocs;
+import io.swagger.models.Model;
+import io.swagger.util.Json;
 
 public class CodegenModel {
     public String parent, parentSchema;
@@ -48,6 +50,11 @@ public class CodegenModel {
     //The type of the value from additional properties. Used in map like objects.
     public String additionalPropertiesType;
 
+    // The definition modelJson is serialized from on first access, only a few templates use it. Changes
+    // made to the definition before, e.g. examples a codegen sets while converting the properties, show up
+    // in the JSON.
+    private Model modelDefinition;
+
     {
         // By default these are the same collections. Where the code generator supports inheritance, composed models
         // store the complete closure of owned and inherited properties in allVars and allMandatory.
@@ -87,7 +94,9 @@ public class CodegenModel {
             return false;
         if (classVarName != null ? !classVarName.equals(that.classVarName) : that.classVarName != null)
             return false;
-        if (modelJson != null ? !modelJson.equals(that.modelJson) : that.modelJson != null)
+        // compares the definitions rather than serializing them, modelJson is derived from the definition
+        if (modelDefinition != null || that.modelDefinition != null
+                ? !Objects.equals(modelDefinition, that.modelDefinition) : !Objects.equals(modelJson, that.modelJson))
             return false;
         if (dataType != null ? !dataType.equals(that.dataType) : that.dataType != null)
             return false;
@@ -155,7 +164,7 @@ public class CodegenModel {
         result = 31 * result + (title != null ? title.hashCode() : 0);
         result = 31 * result + (description != null ? description.hashCode() : 0);
         result = 31 * result + (classVarName != null ? classVarName.hashCode() : 0);
-        result = 31 * result + (modelJson != null ? modelJson.hashCode() : 0);
+        result = 31 * result + (modelDefinition != null ? modelDefinition.hashCode() : modelJson != null ? modelJson.hashCode() : 0);
         result = 31 * result + (dataType != null ? dataType.hashCode() : 0);
         result = 31 * result + (xmlPrefix != null ? xmlPrefix.hashCode() : 0);
         result = 31 * result + (xmlNamespace != null ? xmlNamespace.hashCode() : 0);
@@ -184,4 +193,27 @@ public class CodegenModel {
         result = 31 * result + Objects.hash(parentVars);
         return result;
     }
+
+    /**
+     * @return the JSON of the model definition, serialized on first access, so it reflects changes made to
+     * the definition until then
+     */
+    public String getModelJson() {
+        if (modelJson == null && modelDefinition != null) {
+            modelJson = Json.pretty(modelDefinition);
+        }
+        return modelJson;
+    }
+
+    /**
+     * Set the definition {@link #getModelJson()} is serialized from. The definition is only serialized when
+     * the JSON is first used, so a codegen relying on the JSON of the unchanged definition must not modify
+     * the definition after this call, or must set {@link #modelJson} itself.
+     *
+     * @param modelDefinition the model definition
+     */
+    public void setModelDefinition(Model modelDefinition) {
+        this.modelDefinition = modelDefinition;
+        this.modelJson = null;
+    }
 }
@@ -4,13 +4,15 @@ import io.swagger.models.ExternalDocs;
 import io.swagger.models.Tag;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Arrays;
 
-public class CodegenOperation {
+public class CodegenOperation implements Cloneable {
     public final List<CodegenProperty> responseHeaders = new ArrayList<CodegenProperty>();
     public boolean hasAuthMethods, hasConsumes, hasProduces, hasParams, hasOptionalParams, hasRequiredParams,
             returnTypeIsPrimitive, returnSimpleType, subresourceOperation, isMapContainer,
@@ -204,6 +206,96 @@ public class CodegenOperation {
         return ("/{" + id + "}").equals(pathWithoutBaseName());
     }
 
+    /**
+     * Copy the operation, e.g. for another tag of it. The copy has its own collections, parameters, responses
+     * and security schemes, so post processing one copy doesn't change another. Nested structures, such as
+     * the examples, the response headers and the items of the parameters, are shared.
+     *
+     * @return the copy
+     */
+    @Override
+    public CodegenOperation clone() {
+        CodegenOperation co;
+        try {
+            co = (CodegenOperation) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        // the parameter lists hold copies of each other's parameters, but the body parameter is shared
+        Map<CodegenParameter, CodegenParameter> parameters = new IdentityHashMap<CodegenParameter, CodegenParameter>();
+        co.bodyParam = copy(bodyParam, parameters);
+        co.allParams = copy(allParams, parameters);
+        co.bodyParams = copy(bodyParams, parameters);
+        co.pathParams = copy(pathParams, parameters);
+        co.queryParams = copy(queryParams, parameters);
+        co.headerParams = copy(headerParams, parameters);
+        co.formParams = copy(formParams, parameters);
+        co.requiredParams = copy(requiredParams, parameters);
+        if (responses != null) {
+            co.responses = new ArrayList<CodegenResponse>(responses.size());
+            for (CodegenResponse response : responses) {
+                co.responses.add(response.clone());
+            }
+        }
+        if (authMethods != null) {
+            co.authMethods = new ArrayList<CodegenSecurity>(authMethods.size());
+            for (CodegenSecurity authMethod : authMethods) {
+                co.authMethods.add(authMethod.clone());
+            }
+        }
+        co.consumes = copyMaps(consumes);
+        co.produces = copyMaps(produces);
+        co.prioritizedContentTypes = copyMaps(prioritizedContentTypes);
+        co.examples = copyMaps(examples);
+        co.requestBodyExamples = copyMaps(requestBodyExamples);
+        if (tags != null) {
+            co.tags = new ArrayList<Tag>(tags);
+        }
+        if (imports != null) {
+            co.imports = new HashSet<String>(imports);
+        }
+        if (vendorExtensions != null) {
+            co.vendorExtensions = new HashMap<String, Object>(vendorExtensions);
+        }
+        return co;
+    }
+
+    private static CodegenParameter copy(CodegenParameter parameter, Map<CodegenParameter, CodegenParameter> copies) {
+        if (parameter == null) {
+            return null;
+        }
+        CodegenParameter copy = copies.get(parameter);
+        if (copy == null) {
+            copy = parameter.copy();
+            // not copied by CodegenParameter.copy()
+            copy.isConstEnumParam = parameter.isConstEnumParam;
+            copies.put(parameter, copy);
+        }
+        return copy;
+    }
+
+    private static List<CodegenParameter> copy(List<CodegenParameter> parameters, Map<CodegenParameter, CodegenParameter> copies) {
+        if (parameters == null) {
+            return null;
+        }
+        List<CodegenParameter> copy = new ArrayList<CodegenParameter>(parameters.size());
+        for (CodegenParameter parameter : parameters) {
+            copy.add(copy(parameter, copies));
+        }
+        return copy;
+    }
+
+    private static <V> List<Map<String, V>> copyMaps(List<Map<String, V>> maps) {
+        if (maps == null) {
+            return null;
+        }
+        List<Map<String, V>> copy = new ArrayList<Map<String, V>>(maps.size());
+        for (Map<String, V> map : maps) {
+            copy.add(map != null ? new HashMap<String, V>(map) : null);
+        }
+        return copy;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", baseName, path);
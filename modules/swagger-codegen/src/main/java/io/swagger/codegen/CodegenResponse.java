@@ -1,10 +1,11 @@
 package io.swagger.codegen;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class CodegenResponse {
+public class CodegenResponse implements Cloneable {
     public final List<CodegenProperty> headers = new ArrayList<CodegenProperty>();
     public String code, message;
     public boolean hasMore;
@@ -101,4 +102,20 @@ public class CodegenResponse {
         result = 31 * result + (vendorExtensions != null ? vendorExtensions.hashCode() : 0);
         return result;
     }
+
+    /**
+     * @return a copy of the response with its own vendor extensions, sharing the headers and examples
+     */
+    @Override
+    public CodegenResponse clone() {
+        try {
+            CodegenResponse response = (CodegenResponse) super.clone();
+            if (this.vendorExtensions != null) {
+                response.vendorExtensions = new HashMap<String, Object>(this.vendorExtensions);
+            }
+            return response;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
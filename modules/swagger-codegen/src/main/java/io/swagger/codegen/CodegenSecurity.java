@@ -1,9 +1,10 @@
 package io.swagger.codegen;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class CodegenSecurity {
+public class CodegenSecurity implements Cloneable {
     public String name;
     public String type;
     public Boolean hasMore, isBasic, isOAuth, isApiKey;
@@ -88,4 +89,20 @@ public class CodegenSecurity {
         result = 31 * result + (scopes != null ? scopes.hashCode() : 0);
         return result;
     }
+
+    /**
+     * @return a copy of the security scheme with its own vendor extensions, sharing the scopes
+     */
+    @Override
+    public CodegenSecurity clone() {
+        try {
+            CodegenSecurity security = (CodegenSecurity) super.clone();
+            if (this.vendorExtensions != null) {
+                security.vendorExtensions = new HashMap<String, Object>(this.vendorExtensions);
+            }
+            return security;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
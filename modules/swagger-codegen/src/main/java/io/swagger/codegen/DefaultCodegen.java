@@ -1,9 +1,10 @@
 package io.swagger.codegen;
 
-import javax.annotation.Nullable;
 import java.io.File;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -14,10 +15,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.base.Function;
-import com.google.common.collect.Lists;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.samskivert.mustache.Mustache.Compiler;
 
+import io.swagger.codegen.examples.ExampleCache;
 import io.swagger.codegen.examples.ExampleGenerator;
 import io.swagger.models.ArrayModel;
 import io.swagger.models.ComposedModel;
@@ -66,6 +68,17 @@ import io.swagger.util.Json;
 public class DefaultCodegen {
     protected static final Logger LOGGER = LoggerFactory.getLogger(DefaultCodegen.class);
 
+    // names are sanitized and camelized over and over for every model, property, operation and parameter,
+    // so the results are memoized in bounded caches shared by all generators
+    private static final int NAME_CACHE_SIZE = 10000;
+    private static final Cache<String, String> CAMELIZED_NAMES = CacheBuilder.newBuilder().maximumSize(NAME_CACHE_SIZE).build();
+    private static final Cache<String, String> LOWER_CAMELIZED_NAMES = CacheBuilder.newBuilder().maximumSize(NAME_CACHE_SIZE).build();
+    private static final Cache<String, String> UNDERSCORED_NAMES = CacheBuilder.newBuilder().maximumSize(NAME_CACHE_SIZE).build();
+    private static final Cache<String, String> SANITIZED_NAMES = CacheBuilder.newBuilder().maximumSize(NAME_CACHE_SIZE).build();
+    private static final Cache<String, String> SANITIZED_UNICODE_NAMES = CacheBuilder.newBuilder().maximumSize(NAME_CACHE_SIZE).build();
+    private static final ConcurrentMap<String, Pattern> NON_NAME_ELEMENT_PATTERNS = new ConcurrentHashMap<String, Pattern>();
+    private static final Pattern UNICODE_NON_WORD_CHARACTER = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS);
+
     protected String inputSpec;
     protected String outputFolder = "";
     protected Set<String> defaultIncludes = new HashSet<String>();
@@ -89,10 +102,17 @@ public class DefaultCodegen {
     protected String commonTemplateDir = "_common";
     protected Map<String, Object> additionalProperties = new HashMap<String, Object>();
     protected Map<String, Object> vendorExtensions = new HashMap<String, Object>();
+    protected Map<String, String> generatorProperties = new HashMap<String, String>();
     protected List<SupportingFile> supportingFiles = new ArrayList<SupportingFile>();
     protected List<CliOption> cliOptions = new ArrayList<CliOption>();
     protected boolean skipOverwrite;
     protected boolean removeOperationIdPrefix;
+    // codegens whose fromOperation depends on the tag being processed convert an operation once per tag
+    protected boolean fromOperationPerTag;
+    // the operationIds of every operation group, so making an operationId unique doesn't scan its group
+    private final Cache<List<CodegenOperation>, OperationIds> operationIds = CacheBuilder.newBuilder().weakKeys().build();
+    // the examples of the models, generated once for all operations
+    private ExampleCache exampleCache;
     protected boolean supportsInheritance;
     protected boolean supportsMixins;
     protected Map<String, String> supportedLibraries = new LinkedHashMap<String, String>();
@@ -550,6 +570,22 @@ public class DefaultCodegen {
         return vendorExtensions;
     }
 
+    public Map<String, String> generatorProperties() {
+        return generatorProperties;
+    }
+
+    /**
+     * @param key the generator property key
+     * @return the generator property of the run, or the system property of the same name if the property
+     * is not set for the run
+     */
+    public String getGeneratorProperty(String key) {
+        if (generatorProperties.containsKey(key)) {
+            return generatorProperties.get(key);
+        }
+        return System.getProperty(key);
+    }
+
     public List<SupportingFile> supportingFiles() {
         return supportingFiles;
     }
@@ -1329,7 +1365,7 @@ public class DefaultCodegen {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(model);
+        m.setModelDefinition(model);
         m.externalDocs = model.getExternalDocs();
         m.vendorExtensions = model.getVendorExtensions();
         m.isAlias = typeAliases.containsKey(name);
@@ -2457,7 +2493,7 @@ public class DefaultCodegen {
         }
         p.jsonSchema = Json.pretty(param);
 
-        if (System.getProperty("debugParser") != null) {
+        if (getGeneratorProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + param.getName());
         }
 
@@ -3022,15 +3058,12 @@ public class DefaultCodegen {
             operations.put(tag, opList);
         }
         // check for operationId uniqueness
-
-        String uniqueName = co.operationId;
-        int counter = 0;
-        for(CodegenOperation op : opList) {
-            if(uniqueName.equals(op.operationId)) {
-                uniqueName = co.operationId + "_" + counter;
-                counter ++;
-            }
+        OperationIds ids = operationIds.getIfPresent(opList);
+        if (ids == null) {
+            ids = new OperationIds();
+            operationIds.put(opList, ids);
         }
+        String uniqueName = ids.unique(opList, co.operationId);
         if(!co.operationId.equals(uniqueName)) {
             LOGGER.warn("generated unique operationId `" + uniqueName + "`");
         }
@@ -3042,6 +3075,42 @@ public class DefaultCodegen {
         co.baseName = tag;
     }
 
+    /**
+     * The operationIds of an operation group. A duplicate operationId gets the suffix _0, _1 and so on, the
+     * first one which isn't taken yet.
+     */
+    private static class OperationIds {
+        private final Set<String> taken = new HashSet<String>();
+        // the next suffix to try for every duplicate operationId
+        private final Map<String, Integer> counters = new HashMap<String, Integer>();
+        // the number of operations of the group in taken, so operations added without this index are seen too
+        private int indexed;
+
+        String unique(List<CodegenOperation> group, String operationId) {
+            if (group.size() < indexed) {
+                // operations were removed from the group
+                taken.clear();
+                counters.clear();
+                indexed = 0;
+            }
+            for (; indexed < group.size(); indexed++) {
+                taken.add(group.get(indexed).operationId);
+            }
+            if (!taken.contains(operationId)) {
+                return operationId;
+            }
+            Integer counter = counters.get(operationId);
+            int suffix = counter != null ? counter : 0;
+            String uniqueName;
+            do {
+                uniqueName = operationId + "_" + suffix;
+                suffix++;
+            } while (taken.contains(uniqueName));
+            counters.put(operationId, suffix);
+            return uniqueName;
+        }
+    }
+
     private void addParentContainer(CodegenModel m, String name, Property property) {
         final CodegenProperty tmp = fromProperty(name, property);
         addImport(m, tmp.complexType);
@@ -3066,21 +3135,45 @@ public class DefaultCodegen {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z])";
-        String secondPattern = "([a-z\\d])([A-Z])";
-        String replacementPattern = "$1_$2";
-        // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-        // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
-        // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
-        word = word.replace('-', '_');
-        // replace space with underscore
-        word = word.replace(' ', '_');
-        word = word.toLowerCase();
-        return word;
+        String underscored = UNDERSCORED_NAMES.getIfPresent(word);
+        if (underscored == null) {
+            underscored = underscoreWord(word);
+            UNDERSCORED_NAMES.put(word, underscored);
+        }
+        return underscored;
+    }
+
+    private static String underscoreWord(String word) {
+        int length = word.length();
+        StringBuilder sb = new StringBuilder(length + 8);
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (i > 0 && isAsciiUpperCase(c)) {
+                char previous = word.charAt(i - 1);
+                // "aB" => "a_B", "1B" => "1_B", "ABc" => "A_Bc"
+                if (isAsciiLowerCase(previous) || isAsciiDigit(previous)
+                        || isAsciiUpperCase(previous) && i + 1 < length && isAsciiLowerCase(word.charAt(i + 1))) {
+                    sb.append('_');
+                }
+            }
+            switch (c) {
+                case '.':
+                    // Replace package separator with slash.
+                    sb.append('/');
+                    break;
+                case '$':
+                    // Replace $ with two underscores for inner classes.
+                    sb.append("__");
+                    break;
+                case '-':
+                case ' ':
+                    sb.append('_');
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase();
     }
 
     /**
@@ -3274,17 +3367,19 @@ public class DefaultCodegen {
      * @return camelized string
      */
     protected String removeNonNameElementToCamelCase(final String name, final String nonNameElementPattern) {
-        String result = StringUtils.join(Lists.transform(Lists.newArrayList(name.split(nonNameElementPattern)), new Function<String, String>() {
-            @Nullable
-            @Override
-            public String apply(String input) {
-                return StringUtils.capitalize(input);
-            }
-        }), "");
-        if (result.length() > 0) {
-            result = result.substring(0, 1).toLowerCase() + result.substring(1);
+        Pattern pattern = NON_NAME_ELEMENT_PATTERNS.get(nonNameElementPattern);
+        if (pattern == null) {
+            pattern = Pattern.compile(nonNameElementPattern);
+            NON_NAME_ELEMENT_PATTERNS.putIfAbsent(nonNameElementPattern, pattern);
+        }
+        StringBuilder sb = new StringBuilder(name.length());
+        for (String part : pattern.split(name)) {
+            sb.append(StringUtils.capitalize(part));
         }
-        return result;
+        if (sb.length() > 0) {
+            sb.replace(0, 1, sb.substring(0, 1).toLowerCase());
+        }
+        return sb.toString();
     }
 
     /**
@@ -3307,66 +3402,121 @@ public class DefaultCodegen {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
-        // Replace all slashes with dots (package separator)
-        Pattern p = Pattern.compile("\\/(.?)");
-        Matcher m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-            m = p.matcher(word);
-        }
-
-        // case out dots
-        String[] parts = word.split("\\.");
-        StringBuilder f = new StringBuilder();
-        for (String z : parts) {
-            if (z.length() > 0) {
-                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+        Cache<String, String> cache = lowercaseFirstLetter ? LOWER_CAMELIZED_NAMES : CAMELIZED_NAMES;
+        String camelized = cache.getIfPresent(word);
+        if (camelized == null) {
+            camelized = camelizeWord(word, lowercaseFirstLetter);
+            cache.put(word, camelized);
+        }
+        return camelized;
+    }
+
+    private static String camelizeWord(String word, boolean lowercaseFirstLetter) {
+        int length = word.length();
+
+        // case out slashes and dots (package separators)
+        StringBuilder sb = new StringBuilder(length);
+        boolean separator = true;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '/' || c == '.') {
+                separator = true;
+            } else if (separator) {
+                sb.append(Character.toUpperCase(c));
+                separator = false;
+            } else {
+                sb.append(c);
             }
         }
-        word = f.toString();
 
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1)/*.toUpperCase()*/);
-            m = p.matcher(word);
+        // Uppercase the class name, i.e. the first word character.
+        int first = 0;
+        while (first < sb.length() && !isAsciiWordCharacter(sb.charAt(first))) {
+            first++;
         }
-
-        // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
-        m = p.matcher(word);
-        if (m.find()) {
-            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
-            rep = rep.replaceAll("\\$", "\\\\\\$");
-            word = m.replaceAll(rep);
+        if (first < sb.length()) {
+            sb.replace(first, first + 1, sb.substring(first, first + 1).toUpperCase());
+            // backslashes of the class name are dropped, the escaped character is kept
+            for (int i = first + 1; i < sb.length(); i++) {
+                if (sb.charAt(i) == '\\') {
+                    sb.deleteCharAt(i);
+                }
+            }
         }
 
         // Remove all underscores (underscore_case to camelCase)
-        p = Pattern.compile("(_)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            String original = m.group(2);
-            String upperCase = original.toUpperCase();
-            if (original.equals(upperCase)) {
-                word = word.replaceFirst("_", "");
+        String camelized = sb.toString();
+        length = camelized.length();
+        sb.setLength(0);
+        for (int i = 0; i < length; ) {
+            char c = camelized.charAt(i);
+            if (c == '_' && i + 1 < length && !isLineTerminator(camelized.charAt(i + 1))) {
+                int next = Character.charCount(camelized.codePointAt(i + 1));
+                String original = camelized.substring(i + 1, i + 1 + next);
+                String upperCase = original.toUpperCase();
+                if (original.equals(upperCase)) {
+                    // drop the underscore only, e.g. "foo_1" => "foo1"
+                    i++;
+                } else {
+                    sb.append(upperCase);
+                    i += 1 + next;
+                }
             } else {
-                word = m.replaceFirst(upperCase);
+                sb.append(c);
+                i++;
             }
-            m = p.matcher(word);
         }
 
         // Remove all hyphens (hyphen-case to camelCase)
-        p = Pattern.compile("(-)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst(m.group(2).toUpperCase());
-            m = p.matcher(word);
+        camelized = sb.toString();
+        length = camelized.length();
+        sb.setLength(0);
+        for (int i = 0; i < length; ) {
+            char c = camelized.charAt(i);
+            if (c == '-') {
+                // consecutive hyphens collapse into the first one
+                while (i + 1 < length && camelized.charAt(i + 1) == '-') {
+                    i++;
+                }
+                if (i + 1 < length && !isLineTerminator(camelized.charAt(i + 1))) {
+                    int next = Character.charCount(camelized.codePointAt(i + 1));
+                    sb.append(camelized.substring(i + 1, i + 1 + next).toUpperCase());
+                    i += 1 + next;
+                } else {
+                    sb.append(c);
+                    i++;
+                }
+            } else {
+                sb.append(c);
+                i++;
+            }
         }
 
-        if (lowercaseFirstLetter && word.length() > 0) {
-            word = word.substring(0, 1).toLowerCase() + word.substring(1);
+        if (lowercaseFirstLetter && sb.length() > 0) {
+            sb.replace(0, 1, sb.substring(0, 1).toLowerCase());
         }
 
-        return word;
+        return sb.toString();
+    }
+
+    private static boolean isAsciiUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLowerCase(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiWordCharacter(char c) {
+        return isAsciiLowerCase(c) || isAsciiUpperCase(c) || isAsciiDigit(c) || c == '_';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 
     public String apiFilename(String templateName, String tag) {
@@ -3420,6 +3570,14 @@ public class DefaultCodegen {
         this.removeOperationIdPrefix = removeOperationIdPrefix;
     }
 
+    public boolean isFromOperationPerTag() {
+        return fromOperationPerTag;
+    }
+
+    public void setFromOperationPerTag(boolean fromOperationPerTag) {
+        this.fromOperationPerTag = fromOperationPerTag;
+    }
+
     public boolean isHideGenerationTimestamp() {
         return hideGenerationTimestamp;
     }
@@ -3555,11 +3713,6 @@ public class DefaultCodegen {
      */
     @SuppressWarnings("static-method")
     public String sanitizeName(String name) {
-        // NOTE: performance wise, we should have written with 2 replaceAll to replace desired
-        // character with _ or empty character. Below aims to spell out different cases we've
-        // encountered so far and hopefully make it easier for others to add more special
-        // cases in the future.
-
         // better error handling when map/array type is invalid
         if (name == null) {
             LOGGER.error("String to be sanitized is null. Default to ERROR_UNKNOWN");
@@ -3571,36 +3724,55 @@ public class DefaultCodegen {
             return "value";
         }
 
-        // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-
-        // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
-
-        // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
-
-        // input.name => input_name
-        name = name.replaceAll("\\.", "_");
-
-        // input-name => input_name
-        name = name.replaceAll("-", "_");
-
-        // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
+        Cache<String, String> cache = allowUnicodeIdentifiers ? SANITIZED_UNICODE_NAMES : SANITIZED_NAMES;
+        String sanitized = cache.getIfPresent(name);
+        if (sanitized == null) {
+            sanitized = sanitizeNameUncached(name, allowUnicodeIdentifiers);
+            cache.put(name, sanitized);
+        }
+        return sanitized;
+    }
 
-        // remove everything else other than word, number and _
-        // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
-            name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+    private static String sanitizeNameUncached(String name, boolean allowUnicodeIdentifiers) {
+        int length = name.length();
+        StringBuilder sb = new StringBuilder(length);
+        boolean unicode = false;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            switch (c) {
+                case '[':
+                    if (i + 1 < length && name.charAt(i + 1) == ']') {
+                        // input[] => input
+                        i++;
+                    } else {
+                        // input[a][b] => input_a_b
+                        sb.append('_');
+                    }
+                    break;
+                case ']':
+                case ')':
+                    break;
+                case '(': // input(a)(b) => input_a_b
+                case '.': // input.name => input_name
+                case '-': // input-name => input_name
+                case ' ': // input name and age => input_name_and_age
+                    sb.append('_');
+                    break;
+                default:
+                    // remove everything else other than word, number and _
+                    // $php_variable => php_variable
+                    if (isAsciiWordCharacter(c)) {
+                        sb.append(c);
+                    } else if (allowUnicodeIdentifiers && c > 0x7f) {
+                        sb.append(c);
+                        unicode = true;
+                    }
+            }
         }
-        else {
-            name = name.replaceAll("\\W", "");
+        if (unicode) {
+            return UNICODE_NON_WORD_CHARACTER.matcher(sb).replaceAll("");
         }
-
-        return name;
+        return sb.toString();
     }
 
     /**
@@ -3832,12 +4004,15 @@ public class DefaultCodegen {
     }
 
     protected List<Map<String, String>> getExamples(Map<String, Model> definitions, Map<String, Object> examples, List<String> mediaTypes, Object object) {
+        if (exampleCache == null || exampleCache.getDefinitions() != definitions) {
+            exampleCache = new ExampleCache(definitions);
+        }
         if (object instanceof Property) {
             Property responseProperty = (Property) object;
-            return new ExampleGenerator(definitions).generate(examples, mediaTypes, responseProperty);
+            return new ExampleGenerator(definitions, exampleCache).generate(examples, mediaTypes, responseProperty);
         }
         // this must be a model name instead
-        return new ExampleGenerator(definitions).generate(examples, mediaTypes, object.toString());
+        return new ExampleGenerator(definitions, exampleCache).generate(examples, mediaTypes, object.toString());
     }
 
     public void writePropertyBack(String propertyKey, boolean value) {
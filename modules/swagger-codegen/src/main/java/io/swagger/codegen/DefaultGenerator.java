@@ -1,8 +1,16 @@
 package io.swagger.codegen;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
 import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 import io.swagger.codegen.ignore.CodegenIgnoreProcessor;
+import io.swagger.codegen.incremental.DependencyGraph;
+import io.swagger.codegen.incremental.GenerationManifest;
+import io.swagger.codegen.instrumentation.Instrumentation;
+import io.swagger.codegen.instrumentation.Phase;
 import io.swagger.codegen.languages.AbstractJavaCodegen;
 import io.swagger.codegen.languages.JavaCdsModelsCodegen;
 import io.swagger.codegen.utils.ImplementationVersion;
@@ -11,6 +19,7 @@ import io.swagger.models.auth.OAuth2Definition;
 import io.swagger.models.auth.SecuritySchemeDefinition;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -19,7 +28,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
@@ -38,7 +55,22 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected String basePath;
     protected String basePathWithoutHost;
     protected String contextPath;
+    protected int threads = 1;
+    protected TemplateCache templateCache = new TemplateCache();
+    protected boolean incremental = false;
+    protected GenerationManifest manifest;
+    protected OutputSink outputSink;
+    protected Instrumentation instrumentation = Instrumentation.NOOP;
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
+    private Map<String, String> generatorProperties = new HashMap<>();
+    private ForkJoinPool renderPool;
+    private List<Callable<File>> pendingRenders = new ArrayList<>();
+    // the tags of the spec by name, rebuilt when the tags of the spec change
+    private Map<String, Tag> tagsByName;
+    private List<Tag> swaggerTags;
+    private int swaggerTagCount;
+    // the model imports of the names imported by the models and the operations, which import the same names over and over
+    private Map<String, String> modelImports = new HashMap<>();
 
     @Override
     public Generator opts(ClientOptInput opts) {
@@ -46,6 +78,11 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.swagger = opts.getSwagger();
         this.config = opts.getConfig();
         this.config.additionalProperties().putAll(opts.getOpts().getProperties());
+        this.threads = opts.getOpts().getThreads();
+        this.incremental = opts.getOpts().isIncremental();
+        if (opts.getOpts().getGeneratorProperties() != null) {
+            this.generatorProperties.putAll(opts.getOpts().getGeneratorProperties());
+        }
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
         if (ignoreFileLocation != null) {
@@ -85,6 +122,83 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.generatorPropertyDefaults.put(key, value);
     }
 
+    /**
+     * Set the number of worker threads used to render templates and write the generated files.
+     * Models and operations are always analyzed on the calling thread; only the independent
+     * render and write step of each phase is fanned out, so the output is identical to a
+     * sequential run.
+     * @param threads number of render threads, values lower than 2 render sequentially
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Use the given cache for compiled templates instead of the one owned by this generator, e.g. to
+     * share compiled templates between generator runs in a long-lived process.
+     * @param templateCache the template cache
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setTemplateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    /**
+     * Enable incremental generation. The inputs and outputs of each run are recorded in
+     * {@link GenerationManifest#MANIFEST_FILE}; outputs known to be up to date are neither rendered nor
+     * written and files are only written when their content changes.
+     * @param incremental true: generate incrementally, false: always render and write all files
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Send the generated files to the given sink instead of writing them to the output directory, e.g. to
+     * stream them into an archive with {@link ZipOutputSink}. Incremental generation is not available with
+     * a sink, as it relies on the files of the previous run.
+     * @param outputSink the destination of the generated files, null to write them to disk
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    /**
+     * Report the phases of the generation to the given instrumentation, e.g. to record how long they take.
+     * @param instrumentation the instrumentation, null to report nothing
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setInstrumentation(Instrumentation instrumentation) {
+        this.instrumentation = instrumentation != null ? instrumentation : Instrumentation.NOOP;
+    }
+
+    /**
+     * Set a generator property of this run, e.g. {@link CodegenConstants#MODELS} or debugModels. Unlike
+     * system properties, generator properties only apply to this generator instance, so several generators
+     * can run concurrently with different properties.
+     * @param key The generator property key
+     * @param value The generator property value, null to ignore a system property of the same name
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setGeneratorProperty(final String key, final String value) {
+        this.generatorProperties.put(key, value);
+    }
+
+    /**
+     * @param key The generator property key
+     * @return the generator property of this run, or the system property of the same name if the property
+     * is not set for this run
+     */
+    protected String getGeneratorProperty(final String key) {
+        if (this.generatorProperties.containsKey(key)) {
+            return this.generatorProperties.get(key);
+        }
+        return System.getProperty(key);
+    }
+
     protected Boolean getGeneratorPropertyDefaultSwitch(final String key, final Boolean defaultValue) {
         String result = null;
         if (this.generatorPropertyDefaults.containsKey(key)) {
@@ -124,19 +238,22 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     }
 
     protected void configureGeneratorProperties() {
+        // codegens read the generator properties of the run from their config, e.g. in processOpts
+        config.generatorProperties().putAll(generatorProperties);
+
         // allows generating only models by specifying a CSV of models to generate, or empty for all
         // NOTE: Boolean.TRUE is required below rather than `true` because of JVM boxing constraints and type inference.
-        if (System.getProperty(CodegenConstants.GENERATE_APIS) != null) {
-            isGenerateApis = Boolean.valueOf(System.getProperty(CodegenConstants.GENERATE_APIS));
+        if (getGeneratorProperty(CodegenConstants.GENERATE_APIS) != null) {
+            isGenerateApis = Boolean.valueOf(getGeneratorProperty(CodegenConstants.GENERATE_APIS));
         } else {
-            isGenerateApis = System.getProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
+            isGenerateApis = getGeneratorProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
         }
-        if (System.getProperty(CodegenConstants.GENERATE_MODELS) != null) {
-            isGenerateModels = Boolean.valueOf(System.getProperty(CodegenConstants.GENERATE_MODELS));
+        if (getGeneratorProperty(CodegenConstants.GENERATE_MODELS) != null) {
+            isGenerateModels = Boolean.valueOf(getGeneratorProperty(CodegenConstants.GENERATE_MODELS));
         } else {
-            isGenerateModels = System.getProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
+            isGenerateModels = getGeneratorProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
         }
-        isGenerateSupportingFiles = System.getProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.SUPPORTING_FILES)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
+        isGenerateSupportingFiles = getGeneratorProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.SUPPORTING_FILES)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
 
         if (isGenerateApis == null && isGenerateModels == null && isGenerateSupportingFiles == null) {
             // no specifics are set, generate everything
@@ -154,10 +271,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
         // model/api tests and documentation options rely on parent generate options (api or model) and no other options.
         // They default to true in all scenarios and can only be marked false explicitly
-        isGenerateModelTests = System.getProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
-        isGenerateModelDocumentation = System.getProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
-        isGenerateApiTests = System.getProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
-        isGenerateApiDocumentation = System.getProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
+        isGenerateModelTests = getGeneratorProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
+        isGenerateModelDocumentation = getGeneratorProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
+        isGenerateApiTests = getGeneratorProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
+        isGenerateApiDocumentation = getGeneratorProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(getGeneratorProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
 
 
         // Additional properties added for tests to exclude references in project related files
@@ -173,7 +290,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if(!isGenerateApiTests && !isGenerateModelTests) {
             config.additionalProperties().put(CodegenConstants.EXCLUDE_TESTS, true);
         }
-        if (System.getProperty("debugSwagger") != null) {
+        if (getGeneratorProperty("debugSwagger") != null) {
             Json.prettyPrint(swagger);
         }
         config.processOpts();
@@ -263,10 +380,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 LOGGER.info("File exists. Skipped overwriting " + filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-            }
+            setSources(filename, modelSources(modelName));
+            render(files, templateTask(models, templateName, filename));
         }
     }
 
@@ -278,10 +393,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 LOGGER.info("Skipped overwriting " + filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-            }
+            setSources(filename, modelSources(modelName));
+            render(files, templateTask(models, templateName, filename));
         }
     }
 
@@ -296,7 +409,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
 
-        String modelNames = System.getProperty("models");
+        String modelNames = getGeneratorProperty("models");
         Set<String> modelsToGenerate = null;
         if (modelNames != null && !modelNames.isEmpty()) {
             modelsToGenerate = new HashSet<String>(Arrays.asList(modelNames.split(",")));
@@ -389,7 +502,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
 
         // post process all processed models
-        allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        try (Instrumentation.Span span = instrumentation.start(Phase.POST_PROCESS_MODELS, null)) {
+            allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        }
 
         // generate files based on processed models
         for (String modelName : allProcessedModels.keySet()) {
@@ -424,10 +539,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         LOGGER.info("Skipped overwriting " + filename);
                         continue;
                     }
-                    File written = processTemplateToFile(models, templateName, filename);
-                    if (written != null) {
-                        files.add(written);
-                    }
+                    setSources(filename, modelSources(modelName));
+                    render(files, templateTask(models, templateName, filename));
                 }
                 if(isGenerateModelTests) {
                     generateModelTests(files, models, modelName);
@@ -440,7 +553,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
         }
-        if (System.getProperty("debugModels") != null) {
+        awaitRenders(files);
+        if (getGeneratorProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
         }
@@ -453,7 +567,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
         Map<String, List<CodegenOperation>> paths = processPaths(swagger.getPaths());
         Set<String> apisToGenerate = null;
-        String apiNames = System.getProperty("apis");
+        String apiNames = getGeneratorProperty("apis");
         if (apiNames != null && !apiNames.isEmpty()) {
             apisToGenerate = new HashSet<String>(Arrays.asList(apiNames.split(",")));
         }
@@ -502,6 +616,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
                 processMimeTypes(swagger.getConsumes(), operation, "consumes");
                 processMimeTypes(swagger.getProduces(), operation, "produces");
+                Set<String> sources = manifest != null ? operationSources(ops) : null;
 
                 allOperations.add(new HashMap<String, Object>(operation));
                 for (int i = 0; i < allOperations.size(); i++) {
@@ -518,10 +633,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         continue;
                     }
 
-                    File written = processTemplateToFile(operation, templateName, filename);
-                    if (written != null) {
-                        files.add(written);
-                    }
+                    setSources(filename, sources);
+                    render(files, templateTask(operation, templateName, filename));
                 }
 
                 if(isGenerateApiTests) {
@@ -534,10 +647,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
+                        setSources(filename, sources);
+                        render(files, templateTask(operation, templateName, filename));
                     }
                 }
 
@@ -551,10 +662,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
+                        setSources(filename, sources);
+                        render(files, templateTask(operation, templateName, filename));
                     }
                 }
 
@@ -562,19 +671,20 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
-        if (System.getProperty("debugOperations") != null) {
+        awaitRenders(files);
+        if (getGeneratorProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
         }
 
     }
 
-    protected void generateSupportingFiles(List<File> files, Map<String, Object> bundle) {
+    protected void generateSupportingFiles(List<File> files, final Map<String, Object> bundle) {
         if (!isGenerateSupportingFiles) {
             return;
         }
         Set<String> supportingFilesToGenerate = null;
-        String supportingFiles = System.getProperty(CodegenConstants.SUPPORTING_FILES);
+        String supportingFiles = getGeneratorProperty(CodegenConstants.SUPPORTING_FILES);
         if (supportingFiles != null && !supportingFiles.isEmpty()) {
             supportingFilesToGenerate = new HashSet<String>(Arrays.asList(supportingFiles.split(",")));
         }
@@ -586,7 +696,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     outputFolder += File.separator + support.folder;
                 }
                 File of = new File(outputFolder);
-                if (!of.isDirectory()) {
+                if (outputSink == null && !of.isDirectory()) {
                     of.mkdirs();
                 }
                 String outputFilename = outputFolder + File.separator + support.destinationFilename.replace('/', File.separatorChar);
@@ -609,44 +719,14 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
 
                 if (ignoreProcessor.allowsFile(new File(outputFilename))) {
-                    if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
-                        files.add(new File(outputFilename));
-                    } else {
-                        InputStream in = null;
-
-                        try {
-                            in = new FileInputStream(templateFile);
-                        } catch (Exception e) {
-                            // continue
-                        }
-                        if (in == null) {
-                            in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
-                        }
-                        File outputFile = new File(outputFilename);
-                        OutputStream out = new FileOutputStream(outputFile, false);
-                        if (in != null) {
-                            LOGGER.info("writing file " + outputFile);
-                            IOUtils.copy(in, out);
-                            out.close();
-                        } else {
-                            LOGGER.error("can't open " + templateFile + " for input");
+                    final String supportTemplateFile = templateFile;
+                    final String supportOutputFilename = outputFilename;
+                    render(files, new Callable<File>() {
+                        @Override
+                        public File call() throws Exception {
+                            return processSupportingFile(bundle, supportTemplateFile, supportOutputFilename);
                         }
-                        files.add(outputFile);
-                    }
+                    });
                 } else {
                     LOGGER.info("Skipped generation of " + outputFilename + " due to rule in .swagger-codegen-ignore");
                 }
@@ -654,6 +734,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
             }
         }
+        awaitRenders(files);
 
         // Consider .swagger-codegen-ignore a supporting file
         // Output .swagger-codegen-ignore if it doesn't exist and wasn't explicitly created by a generator
@@ -702,6 +783,65 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     }
 
+    protected File processSupportingFile(Map<String, Object> bundle, String templateFile, String outputFilename) throws IOException {
+        if (isUpToDate(outputFilename)) {
+            return new File(outputFilename);
+        }
+        if (templateFile.endsWith("mustache")) {
+            Template tmpl = getTemplate(templateFile);
+            writeToFile(outputFilename, tmpl, bundle);
+            return new File(outputFilename);
+        }
+
+        InputStream in = null;
+
+        try {
+            in = new FileInputStream(templateFile);
+        } catch (Exception e) {
+            // continue
+        }
+        if (in == null) {
+            in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
+        }
+        File outputFile = new File(outputFilename);
+        if (outputSink != null) {
+            if (in == null) {
+                LOGGER.error("can't open " + templateFile + " for input");
+                return outputFile;
+            }
+            LOGGER.info("writing file " + outputFile);
+            try (Instrumentation.Span span = instrumentation.start(Phase.WRITE, outputFilename)) {
+                OutputStream out = outputSink.open(outputFile);
+                try {
+                    IOUtils.copy(in, out);
+                } finally {
+                    out.close();
+                    in.close();
+                }
+            }
+            return outputFile;
+        }
+        if (in != null && manifest != null) {
+            try {
+                writeToFile(outputFilename, IOUtils.toByteArray(in));
+            } finally {
+                in.close();
+            }
+            return outputFile;
+        }
+        OutputStream out = new FileOutputStream(outputFile, false);
+        if (in != null) {
+            LOGGER.info("writing file " + outputFile);
+            try (Instrumentation.Span span = instrumentation.start(Phase.WRITE, outputFilename)) {
+                IOUtils.copy(in, out);
+            }
+            out.close();
+        } else {
+            LOGGER.error("can't open " + templateFile + " for input");
+        }
+        return outputFile;
+    }
+
     protected Map<String, Object> buildSupportFileBundle(List<Object> allOperations, List<Object> allModels) {
 
         Map<String, Object> bundle = new HashMap<String, Object>();
@@ -740,7 +880,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
         config.postProcessSupportingFileData(bundle);
 
-        if (System.getProperty("debugSupportingFiles") != null) {
+        if (getGeneratorProperty("debugSupportingFiles") != null) {
             LOGGER.info("############ Supporting file info ############");
             Json.prettyPrint(bundle);
         }
@@ -753,53 +893,486 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (swagger == null || config == null) {
             throw new RuntimeException("missing swagger input or config!");
         }
-        configureGeneratorProperties();
-        configureSwaggerInfo();
+        if (incremental && outputSink != null) {
+            LOGGER.warn("Incremental generation is not available with an output sink, all files will be generated");
+        }
+        // the spec is hashed before any codegen had the chance to modify it
+        String specHash = incremental && outputSink == null ? hashSpec() : null;
+        modelImports.clear();
+        try (Instrumentation.Span span = instrumentation.start(Phase.CONFIGURE, null)) {
+            configureGeneratorProperties();
+            configureSwaggerInfo();
+            if (specHash != null) {
+                manifest = new GenerationManifest(new File(config.outputFolder()), specHash, hashOptions());
+            }
+        }
 
         // resolve inline models
-        InlineModelResolver inlineModelResolver = new InlineModelResolver();
-        inlineModelResolver.flatten(swagger);
-
-        List<File> files = new ArrayList<File>();
-        // models
-        List<Object> allModels = new ArrayList<Object>();
-        generateModels(files, allModels);
-        // apis
-        List<Object> allOperations = new ArrayList<Object>();
-        generateApis(files, allOperations, allModels);
-
-        // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
-        generateSupportingFiles(files, bundle);
-        config.processSwagger(swagger);
-        return files;
+        try (Instrumentation.Span span = instrumentation.start(Phase.FLATTEN, null)) {
+            InlineModelResolver inlineModelResolver = new InlineModelResolver();
+            inlineModelResolver.flatten(swagger);
+            if (manifest != null) {
+                manifest.setDependencyGraph(buildDependencyGraph());
+            }
+        }
+
+        if (threads > 1) {
+            renderPool = new ForkJoinPool(threads);
+        }
+        try {
+            List<File> files = new ArrayList<File>();
+            // models
+            List<Object> allModels = new ArrayList<Object>();
+            try (Instrumentation.Span span = instrumentation.start(Phase.MODELS, null)) {
+                generateModels(files, allModels);
+            }
+            // apis
+            List<Object> allOperations = new ArrayList<Object>();
+            try (Instrumentation.Span span = instrumentation.start(Phase.APIS, null)) {
+                generateApis(files, allOperations, allModels);
+            }
+
+            // supporting files
+            try (Instrumentation.Span span = instrumentation.start(Phase.SUPPORTING_FILES, null)) {
+                Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+                generateSupportingFiles(files, bundle);
+                config.processSwagger(swagger);
+            }
+            if (manifest != null) {
+                manifest.save();
+            }
+            return files;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write " + GenerationManifest.MANIFEST_FILE, e);
+        } finally {
+            if (renderPool != null) {
+                renderPool.shutdown();
+                renderPool = null;
+            }
+            pendingRenders.clear();
+            manifest = null;
+        }
+    }
+
+    @Override
+    public File writeToFile(String filename, String contents) throws IOException {
+        if (manifest == null && outputSink == null) {
+            try (Instrumentation.Span span = instrumentation.start(Phase.WRITE, filename)) {
+                return super.writeToFile(filename, contents);
+            }
+        }
+        return writeToFile(filename, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected File writeToFile(String filename, byte[] contents) throws IOException {
+        try (Instrumentation.Span span = instrumentation.start(Phase.WRITE, filename)) {
+            File output = new File(filename);
+            if (outputSink != null) {
+                LOGGER.info("writing file " + filename);
+                OutputStream out = outputSink.open(output);
+                try {
+                    out.write(contents);
+                } finally {
+                    out.close();
+                }
+                return output;
+            }
+            if (manifest != null && !manifest.update(output, contents)) {
+                LOGGER.info("Skipped writing unchanged file " + filename);
+                return output;
+            }
+            LOGGER.info("writing file " + filename);
+            FileUtils.writeByteArrayToFile(output, contents);
+            if (manifest != null) {
+                manifest.written(output, contents);
+            }
+            return output;
+        }
+    }
+
+    /**
+     * Render a template straight into a file without holding the whole output in memory. The output is
+     * rendered into a temporary file next to the target which then replaces the target atomically where
+     * the file system supports it, so a failed or interrupted run never leaves a truncated file behind.
+     * The replaced file keeps its permissions, and a symbolic link is written through rather than replaced.
+     * With an {@link OutputSink} the output is rendered into the sink instead.
+     *
+     * @param filename the output file
+     * @param template the compiled template
+     * @param context the data passed to the template
+     * @return the output file
+     * @throws IOException if the file cannot be written
+     */
+    protected File writeToFile(String filename, Template template, Object context) throws IOException {
+        try (Instrumentation.Span span = instrumentation.start(Phase.RENDER, filename)) {
+            File output = new File(filename);
+            if (outputSink != null) {
+                LOGGER.info("writing file " + filename);
+                Writer out = new BufferedWriter(new OutputStreamWriter(outputSink.open(output), StandardCharsets.UTF_8));
+                try {
+                    template.execute(context, out);
+                } finally {
+                    out.close();
+                }
+                return output;
+            }
+            File parent = output.getAbsoluteFile().getParentFile();
+            if (!parent.isDirectory()) {
+                parent.mkdirs();
+            }
+            File temp = new File(parent, "." + output.getName() + "." + Long.toHexString(System.nanoTime()) + "."
+                    + Thread.currentThread().getId() + ".tmp");
+            try {
+                HashingOutputStream stream = new HashingOutputStream(Hashing.sha256(), new FileOutputStream(temp));
+                Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+                try {
+                    template.execute(context, out);
+                } finally {
+                    out.close();
+                }
+
+                String sha256 = stream.hash().toString();
+                if (manifest != null && !manifest.update(output, sha256, temp.length())) {
+                    LOGGER.info("Skipped writing unchanged file " + filename);
+                    return output;
+                }
+                LOGGER.info("writing file " + filename);
+                replace(output, temp);
+                if (manifest != null) {
+                    manifest.written(output, sha256, output.length());
+                }
+                return output;
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        }
+    }
+
+    /**
+     * @param target the file to replace, e.g. a script whose executable bit must be kept
+     * @param replacement the new content of the file, which is moved or copied
+     */
+    private static void replace(File target, File replacement) throws IOException {
+        if (Files.isSymbolicLink(target.toPath())) {
+            // the link keeps pointing to the same file
+            try (OutputStream out = new FileOutputStream(target)) {
+                Files.copy(replacement.toPath(), out);
+            }
+            return;
+        }
+        if (target.exists()) {
+            try {
+                Files.setPosixFilePermissions(replacement.toPath(), Files.getPosixFilePermissions(target.toPath()));
+            } catch (UnsupportedOperationException e) {
+                // not a POSIX file system
+            }
+        }
+        try {
+            Files.move(replacement.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(replacement.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Build the graph of the dependencies between the definitions and operations of the flattened spec.
+     * In incremental mode it limits the outputs rendered after a change of the spec to those of the
+     * affected definitions and operations (plus the supporting files).
+     *
+     * @return the dependency graph of the spec
+     */
+    protected DependencyGraph buildDependencyGraph() {
+        return new DependencyGraph(swagger);
+    }
+
+    private void setSources(String outputFilename, Collection<String> nodes) {
+        if (manifest != null) {
+            manifest.setSources(new File(outputFilename), nodes);
+        }
+    }
+
+    private Set<String> modelSources(String modelName) {
+        return Collections.singleton(DependencyGraph.modelNode(modelName));
+    }
+
+    private Set<String> operationSources(List<CodegenOperation> ops) {
+        Set<String> sources = new HashSet<String>();
+        for (CodegenOperation op : ops) {
+            sources.add(DependencyGraph.operationNode(String.valueOf(op.httpMethod), op.path));
+        }
+        if (swagger.getDefinitions() != null && isOverridden("postProcessOperationsWithModels", Map.class, List.class)) {
+            // the operations are processed with all models at hand
+            for (String name : swagger.getDefinitions().keySet()) {
+                sources.add(DependencyGraph.modelNode(name));
+            }
+        }
+        return sources;
+    }
+
+    private boolean isOverridden(String method, Class<?>... parameterTypes) {
+        try {
+            return config.getClass().getMethod(method, parameterTypes).getDeclaringClass() != DefaultCodegen.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    private boolean isUpToDate(String outputFilename) {
+        if (manifest != null && manifest.isUpToDate(new File(outputFilename))) {
+            LOGGER.info("Skipped generation of " + outputFilename + " as it is up to date");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return hash of the input specification, or null if it cannot be serialized and incremental
+     * generation has to be disabled
+     */
+    protected String hashSpec() {
+        try {
+            return GenerationManifest.hash(Json.mapper().writeValueAsBytes(swagger));
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Unable to hash the specification, incremental generation is disabled", e);
+            return null;
+        }
+    }
+
+    /**
+     * Hash everything besides the specification which affects the content of the generated files: the
+     * generator version and class, the processed options and mappings and custom templates.
+     *
+     * @return hash of the generator options
+     */
+    protected String hashOptions() {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(ImplementationVersion.read(), StandardCharsets.UTF_8);
+        hasher.putString(config.getClass().getName(), StandardCharsets.UTF_8);
+        hasher.putString(String.valueOf(config.getLibrary()), StandardCharsets.UTF_8);
+        hasher.putString(String.valueOf(config.apiPackage()), StandardCharsets.UTF_8);
+        hasher.putString(String.valueOf(config.modelPackage()), StandardCharsets.UTF_8);
+
+        Map<String, Object> properties = new HashMap<String, Object>(config.additionalProperties());
+        // only vary between runs, a file which is up to date keeps the timestamp it was generated with
+        properties.remove("generatedDate");
+        properties.remove("generatedYear");
+        hasher.putString(stableString(properties), StandardCharsets.UTF_8);
+        hasher.putString(stableString(config.typeMapping()), StandardCharsets.UTF_8);
+        hasher.putString(stableString(config.instantiationTypes()), StandardCharsets.UTF_8);
+        hasher.putString(stableString(config.importMapping()), StandardCharsets.UTF_8);
+        hasher.putString(stableString(config.languageSpecificPrimitives()), StandardCharsets.UTF_8);
+        hasher.putString(stableString(config.reservedWordsMappings()), StandardCharsets.UTF_8);
+
+        File templateDir = new File(config.templateDir());
+        if (templateDir.isDirectory()) {
+            List<File> templates = new ArrayList<File>(FileUtils.listFiles(templateDir, null, true));
+            Collections.sort(templates);
+            for (File template : templates) {
+                hasher.putString(template.getPath(), StandardCharsets.UTF_8);
+                try {
+                    hasher.putBytes(FileUtils.readFileToByteArray(template));
+                } catch (IOException e) {
+                    throw new RuntimeException("Could not read template " + template, e);
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Convert option values to a string which is the same for equal options in every run. Values other
+     * than strings, numbers, booleans and collections of them (e.g. lambdas) only contribute their type.
+     */
+    private static String stableString(Object value) {
+        if (value == null || value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        if (value instanceof Map) {
+            Map<String, String> sorted = new TreeMap<String, String>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sorted.put(String.valueOf(entry.getKey()), stableString(entry.getValue()));
+            }
+            return sorted.toString();
+        }
+        if (value instanceof Collection) {
+            List<String> items = new ArrayList<String>();
+            for (Object item : (Collection<?>) value) {
+                items.add(stableString(item));
+            }
+            if (value instanceof Set) {
+                Collections.sort(items);
+            }
+            return items.toString();
+        }
+        return value.getClass().getName();
+    }
+
+    /**
+     * Render a single output. When rendering sequentially the task runs right away, otherwise it is
+     * queued and executed by {@link #awaitRenders(List)} at the end of the current phase.
+     *
+     * @param files the list of generated files, written file is appended to it
+     * @param task the render task returning the written file or null when it was skipped, null if there is
+     *             nothing to render
+     * @throws IOException if the output could not be written
+     */
+    protected void render(List<File> files, Callable<File> task) throws IOException {
+        if (task == null) {
+            return;
+        }
+        if (renderPool != null) {
+            pendingRenders.add(task);
+            return;
+        }
+        File written;
+        try {
+            written = task.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        if (written != null) {
+            files.add(written);
+        }
+    }
+
+    /**
+     * Execute all queued render tasks on the render pool and append the written files in the order
+     * the tasks were queued, so the result is the same as in a sequential run.
+     *
+     * @param files the list of generated files
+     */
+    protected void awaitRenders(List<File> files) {
+        if (pendingRenders.isEmpty()) {
+            return;
+        }
+        try {
+            for (Future<File> future : renderPool.invokeAll(pendingRenders)) {
+                File written = future.get();
+                if (written != null) {
+                    files.add(written);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rendering templates", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Could not generate file", e.getCause());
+        } finally {
+            pendingRenders.clear();
+        }
+    }
+
+    /**
+     * @return the task rendering the template, or null if the output is ignored, so ignored outputs are neither
+     * queued nor rendered
+     */
+    private Callable<File> templateTask(final Map<String, Object> templateData, final String templateName, final String outputFilename) {
+        final String adjustedOutputFilename = adjustOutputFilename(outputFilename);
+        if (!ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
+            LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
+            return null;
+        }
+        return new Callable<File>() {
+            @Override
+            public File call() throws Exception {
+                return renderTemplateToFile(templateData, templateName, adjustedOutputFilename);
+            }
+        };
     }
 
     protected File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) throws IOException {
-        String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
+        String adjustedOutputFilename = adjustOutputFilename(outputFilename);
         if (ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
-            String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
-            Mustache.Compiler compiler = Mustache.compiler();
-            compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
-                    .withLoader(new Mustache.TemplateLoader() {
-                        @Override
-                        public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                        }
-                    })
-                    .defaultValue("")
-                    .compile(template);
-
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
-            return new File(adjustedOutputFilename);
+            return renderTemplateToFile(templateData, templateName, adjustedOutputFilename);
         }
 
         LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
         return null;
     }
 
+    /**
+     * Render a template into a file which is allowed by the ignore file, e.g. by a queued render whose output
+     * was checked before it was queued.
+     *
+     * @param templateData the data passed to the template
+     * @param templateName the name of the template
+     * @param adjustedOutputFilename the output file, with the separators of the platform
+     * @return the output file
+     * @throws IOException if the file cannot be written
+     */
+    protected File renderTemplateToFile(Map<String, Object> templateData, String templateName, String adjustedOutputFilename) throws IOException {
+        if (isUpToDate(adjustedOutputFilename)) {
+            return new File(adjustedOutputFilename);
+        }
+        Template tmpl = getTemplate(getFullTemplateFile(config, templateName));
+        writeToFile(adjustedOutputFilename, tmpl, templateData);
+        return new File(adjustedOutputFilename);
+    }
+
+    private static String adjustOutputFilename(String outputFilename) {
+        return outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
+    }
+
+    /**
+     * Get the compiled template for a resolved template file, compiling it on first use. Partials are
+     * resolved like {@link #getFullTemplateFile(CodegenConfig, String)} and their sources are cached as well.
+     *
+     * @param templateFile the resolved template file
+     * @return the compiled template
+     */
+    protected Template getTemplate(String templateFile) {
+        String key = config.getClass().getName() + "|" + config.templateDir() + "|" + config.embeddedTemplateDir()
+                + "|" + config.getLibrary() + "|" + templateFile;
+        Template tmpl = templateCache.getTemplate(key);
+        if (tmpl != null) {
+            return tmpl;
+        }
+        PartialLoader loader = new PartialLoader(config.templateDir(), config.embeddedTemplateDir(),
+                config.getLibrary(), templateCache);
+        Mustache.Compiler compiler = Mustache.compiler();
+        compiler = config.processCompiler(compiler);
+        tmpl = compiler
+                .withLoader(loader)
+                .defaultValue("")
+                .compile(loader.getTemplateSource(templateFile));
+        return templateCache.putTemplate(key, tmpl);
+    }
+
+    /**
+     * Loads the partials of a template. A compiled template keeps its loader, so the loader holds only
+     * the template locations and not the generator or its config, which a shared cache would keep alive
+     * and resolve the partials of later runs with.
+     */
+    private static class PartialLoader extends AbstractGenerator implements Mustache.TemplateLoader {
+        private final String templateDir;
+        private final String embeddedTemplateDir;
+        private final String library;
+        private final TemplateCache templateCache;
+
+        PartialLoader(String templateDir, String embeddedTemplateDir, String library, TemplateCache templateCache) {
+            this.templateDir = templateDir;
+            this.embeddedTemplateDir = embeddedTemplateDir;
+            this.library = library;
+            this.templateCache = templateCache;
+        }
+
+        @Override
+        public Reader getTemplate(String name) {
+            return new StringReader(getTemplateSource(
+                    getFullTemplateFile(templateDir, embeddedTemplateDir, library, name + ".mustache")));
+        }
+
+        String getTemplateSource(String templateFile) {
+            String source = templateCache.getSource(templateFile);
+            if (source == null) {
+                source = templateCache.putSource(templateFile, readTemplate(templateFile));
+            }
+            return source;
+        }
+    }
+
     protected static void processMimeTypes(List<String> mimeTypeList, Map<String, Object> operation, String source) {
         if (mimeTypeList == null || mimeTypeList.isEmpty()) {
             return;
@@ -842,33 +1415,17 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (operation == null) {
             return;
         }
-        if (System.getProperty("debugOperations") != null) {
+        if (getGeneratorProperty("debugOperations") != null) {
             LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
         }
         List<Tag> tags = new ArrayList<Tag>();
 
         List<String> tagNames = operation.getTags();
-        List<Tag> swaggerTags = swagger.getTags();
         if (tagNames != null) {
-            if (swaggerTags == null) {
-                for (String tagName : tagNames) {
-                    tags.add(new Tag().name(tagName));
-                }
-            } else {
-                for (String tagName : tagNames) {
-                    boolean foundTag = false;
-                    for (Tag tag : swaggerTags) {
-                        if (tag.getName().equals(tagName)) {
-                            tags.add(tag);
-                            foundTag = true;
-                            break;
-                        }
-                    }
-
-                    if (!foundTag) {
-                        tags.add(new Tag().name(tagName));
-                    }
-                }
+            Map<String, Tag> tagsByName = getTagsByName();
+            for (String tagName : tagNames) {
+                Tag tag = tagsByName.get(tagName);
+                tags.add(tag != null ? tag : new Tag().name(tagName));
             }
         }
 
@@ -898,52 +1455,22 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
         }
 
-        for (Tag tag : tags) {
+        // the operation is converted once, every tag but the last gets a copy of it, so grouping and post
+        // processing the operation for one tag doesn't affect the other tags
+        CodegenOperation converted = null;
+        for (int i = 0; i < tags.size(); i++) {
+            Tag tag = tags.get(i);
             try {
-                CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
-                codegenOperation.tags = new ArrayList<Tag>(tags);
-                config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
-
-                List<Map<String, List<String>>> securities = operation.getSecurity();
-                if (securities == null && swagger.getSecurity() != null) {
-                    securities = new ArrayList<Map<String, List<String>>>();
-                    for (SecurityRequirement sr : swagger.getSecurity()) {
-                        securities.add(sr.getRequirements());
-                    }
-                }
-                if (securities == null || swagger.getSecurityDefinitions() == null) {
-                    continue;
-                }
-                Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
-                for (Map<String, List<String>> security : securities) {
-                    for (String securityName : security.keySet()) {
-                        SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
-                        if (securityDefinition == null) {
-                            continue;
-                        }
-                        if (securityDefinition instanceof OAuth2Definition) {
-                            OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
-                            OAuth2Definition oauth2Operation = new OAuth2Definition();
-                            oauth2Operation.setType(oauth2Definition.getType());
-                            oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
-                            oauth2Operation.setFlow(oauth2Definition.getFlow());
-                            oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
-                            oauth2Operation.setScopes(new HashMap<String, String>());
-                            for (String scope : security.get(securityName)) {
-                                if (oauth2Definition.getScopes().containsKey(scope)) {
-                                    oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
-                                }
-                            }
-                            authMethods.put(securityName, oauth2Operation);
-                        } else {
-                            authMethods.put(securityName, securityDefinition);
-                        }
+                CodegenOperation codegenOperation;
+                if (config.isFromOperationPerTag()) {
+                    codegenOperation = convertOperation(resourcePath, httpMethod, operation, tags);
+                } else {
+                    if (converted == null) {
+                        converted = convertOperation(resourcePath, httpMethod, operation, tags);
                     }
+                    codegenOperation = i < tags.size() - 1 ? converted.clone() : converted;
                 }
-                if (!authMethods.isEmpty()) {
-                    codegenOperation.authMethods = config.fromSecurity(authMethods);
-                    codegenOperation.hasAuthMethods = true;
-                }
+                config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
             } catch (Exception ex) {
                 String msg = "Could not process operation:\n" //
                         + "  Tag: " + tag + "\n"//
@@ -957,6 +1484,72 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     }
 
+    private Map<String, Tag> getTagsByName() {
+        List<Tag> tags = swagger.getTags() != null ? swagger.getTags() : Collections.<Tag>emptyList();
+        if (tagsByName == null || swaggerTags != tags || swaggerTagCount != tags.size()) {
+            tagsByName = new HashMap<String, Tag>();
+            for (Tag tag : tags) {
+                // the first tag of a name wins
+                if (!tagsByName.containsKey(tag.getName())) {
+                    tagsByName.put(tag.getName(), tag);
+                }
+            }
+            swaggerTags = tags;
+            swaggerTagCount = tags.size();
+        }
+        return tagsByName;
+    }
+
+    private CodegenOperation convertOperation(String resourcePath, String httpMethod, Operation operation, List<Tag> tags) {
+        CodegenOperation codegenOperation;
+        try (Instrumentation.Span span = instrumentation.start(Phase.OPERATION, httpMethod.toUpperCase() + " " + resourcePath)) {
+            codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
+        }
+        codegenOperation.tags = new ArrayList<Tag>(tags);
+
+        List<Map<String, List<String>>> securities = operation.getSecurity();
+        if (securities == null && swagger.getSecurity() != null) {
+            securities = new ArrayList<Map<String, List<String>>>();
+            for (SecurityRequirement sr : swagger.getSecurity()) {
+                securities.add(sr.getRequirements());
+            }
+        }
+        if (securities == null || swagger.getSecurityDefinitions() == null) {
+            return codegenOperation;
+        }
+        Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
+        for (Map<String, List<String>> security : securities) {
+            for (String securityName : security.keySet()) {
+                SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
+                if (securityDefinition == null) {
+                    continue;
+                }
+                if (securityDefinition instanceof OAuth2Definition) {
+                    OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
+                    OAuth2Definition oauth2Operation = new OAuth2Definition();
+                    oauth2Operation.setType(oauth2Definition.getType());
+                    oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
+                    oauth2Operation.setFlow(oauth2Definition.getFlow());
+                    oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
+                    oauth2Operation.setScopes(new HashMap<String, String>());
+                    for (String scope : security.get(securityName)) {
+                        if (oauth2Definition.getScopes().containsKey(scope)) {
+                            oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
+                        }
+                    }
+                    authMethods.put(securityName, oauth2Operation);
+                } else {
+                    authMethods.put(securityName, securityDefinition);
+                }
+            }
+        }
+        if (!authMethods.isEmpty()) {
+            codegenOperation.authMethods = config.fromSecurity(authMethods);
+            codegenOperation.hasAuthMethods = true;
+        }
+        return codegenOperation;
+    }
+
     protected static String generateParameterId(Parameter parameter) {
         return parameter.getName() + ":" + parameter.getIn();
     }
@@ -990,20 +1583,19 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             allImports.addAll(op.imports);
         }
 
-        List<Map<String, String>> imports = new ArrayList<Map<String, String>>();
+        Set<String> mappedImports = new LinkedHashSet<String>(); // avoid duplicates
         for (String nextImport : allImports) {
-            Map<String, String> im = new LinkedHashMap<String, String>();
-            String mapping = config.importMapping().get(nextImport);
-            if (mapping == null) {
-                mapping = config.toModelImport(nextImport);
-            }
+            String mapping = resolveImport(config, nextImport);
             if (mapping != null) {
-                im.put("import", mapping);
-                if (!imports.contains(im)) { // avoid duplicates
-                    imports.add(im);
-                }
+                mappedImports.add(mapping);
             }
         }
+        List<Map<String, String>> imports = new ArrayList<Map<String, String>>();
+        for (String mapping : mappedImports) {
+            Map<String, String> im = new LinkedHashMap<String, String>();
+            im.put("import", mapping);
+            imports.add(im);
+        }
 
         operations.put("imports", imports);
 
@@ -1042,10 +1634,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 config.importMapping().put(key, codegenImport);
                 allImports.add(codegenImport);
             }
-            CodegenModel cm = config.fromModel(key, mm, allDefinitions);
+            CodegenModel cm;
+            try (Instrumentation.Span span = instrumentation.start(Phase.MODEL, key)) {
+                cm = config.fromModel(key, mm, allDefinitions);
+            }
             Map<String, Object> mo = new HashMap<String, Object>();
             mo.put("model", cm);
-            mo.put("importPath", config.toModelImport(cm.classname));
+            mo.put("importPath", toModelImport(config, cm.classname));
             models.add(mo);
 
             allImports.addAll(cm.imports);
@@ -1053,10 +1648,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         objs.put("models", models);
         Set<String> importSet = new TreeSet<String>();
         for (String nextImport : allImports) {
-            String mapping = config.importMapping().get(nextImport);
-            if (mapping == null) {
-                mapping = config.toModelImport(nextImport);
-            }
+            String mapping = resolveImport(config, nextImport);
             if (mapping != null && !config.defaultIncludes().contains(mapping)) {
                 importSet.add(mapping);
             }
@@ -1076,4 +1668,22 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         config.postProcessModels(objs);
         return objs;
     }
+
+    /**
+     * @return the import mapping of the name, or else its model import
+     */
+    private String resolveImport(CodegenConfig config, String name) {
+        // import mappings are looked up every time, as models can add them during the run
+        String mapping = config.importMapping().get(name);
+        return mapping != null ? mapping : toModelImport(config, name);
+    }
+
+    private String toModelImport(CodegenConfig config, String name) {
+        if (modelImports.containsKey(name)) {
+            return modelImports.get(name);
+        }
+        String modelImport = config.toModelImport(name);
+        modelImports.put(name, modelImport);
+        return modelImport;
+    }
 }
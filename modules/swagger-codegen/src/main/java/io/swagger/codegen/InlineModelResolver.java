@@ -1,5 +1,7 @@
 package io.swagger.codegen;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.hash.Hashing;
 import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
@@ -9,17 +11,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 public class InlineModelResolver {
     private Swagger swagger;
     private boolean skipMatches;
     static Logger LOGGER = LoggerFactory.getLogger(InlineModelResolver.class);
 
+    private static final Pattern INVALID_NAME_CHARACTERS = Pattern.compile("[^a-z_\\.A-Z0-9 ]");
+
     Map<String, Model> addedModels = new HashMap<String, Model>();
-    Map<String, String> generatedSignature = new HashMap<String, String>();
+    Map<Signature, String> generatedSignature = new HashMap<Signature, String>();
+    // signatures computed by matchGenerated for models which are usually added right after
+    private Map<Model, Signature> pendingSignatures = new IdentityHashMap<Model, Signature>();
+    // per sanitized name, the lowest suffix whose name may still be free
+    private Map<String, Integer> nameSuffixes = new HashMap<String, Integer>();
 
     public void flatten(Swagger swagger) {
         this.swagger = swagger;
@@ -238,38 +249,97 @@ public class InlineModelResolver {
         if (this.skipMatches) {
             return null;
         }
-        String json = Json.pretty(model);
-        if (generatedSignature.containsKey(json)) {
-            return generatedSignature.get(json);
+        Signature signature = signature(model);
+        if (signature == null) {
+            return null;
+        }
+        String existing = generatedSignature.get(signature);
+        if (existing == null) {
+            pendingSignatures.put(model, signature);
         }
-        return null;
+        return existing;
     }
 
     public void addGenerated(String name, Model model) {
-        generatedSignature.put(Json.pretty(model), name);
+        Signature signature = pendingSignatures.remove(model);
+        if (signature == null) {
+            signature = signature(model);
+        }
+        if (signature != null) {
+            generatedSignature.put(signature, name);
+        }
     }
 
-    public String uniqueName(String key) {
-        int count = 0;
-        boolean done = false;
-        key = key.replaceAll("[^a-z_\\.A-Z0-9 ]", ""); // FIXME: a parameter
-                                                       // should not be
-                                                       // assigned. Also declare
-                                                       // the methods parameters
-                                                       // as 'final'.
-        while (!done) {
-            String name = key;
-            if (count > 0) {
-                name = key + "_" + count;
+    /**
+     * Compute a structural signature of a model from its compact JSON serialization. Two models have
+     * equal signatures iff they serialize to the same JSON, just like comparing their pretty printed
+     * JSON but without building the strings. Nested inline models are flattened to references before
+     * the signature of their parent is computed, so every node of the spec is serialized about once.
+     *
+     * @param model the model
+     * @return the signature of the model, or null if it cannot be serialized
+     */
+    private static Signature signature(Model model) {
+        try {
+            return new Signature(Json.mapper().writeValueAsBytes(model));
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Unable to compute the signature of an inline model, it will not be deduplicated", e);
+            return null;
+        }
+    }
+
+    /**
+     * The JSON serialization of a model with its hash, so lookups mostly compare hashes but models
+     * with colliding hashes are still told apart by their serialization.
+     */
+    private static final class Signature {
+        private final byte[] json;
+        private final long hash;
+
+        Signature(byte[] json) {
+            this.json = json;
+            this.hash = Hashing.murmur3_128().hashBytes(json).asLong();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
             }
-            if (swagger.getDefinitions() == null) {
-                return name;
-            } else if (!swagger.getDefinitions().containsKey(name)) {
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature that = (Signature) o;
+            return hash == that.hash && Arrays.equals(json, that.json);
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+
+    /**
+     * @param key the preferred name
+     * @return the sanitized key, or the sanitized key with the lowest numeric suffix which is not the
+     * name of a definition yet
+     */
+    public String uniqueName(String key) {
+        String sanitized = INVALID_NAME_CHARACTERS.matcher(key).replaceAll("");
+        if (swagger.getDefinitions() == null) {
+            return sanitized;
+        }
+        // definitions are only ever added, so names below the remembered suffix are still taken
+        Integer suffix = nameSuffixes.get(sanitized);
+        int count = suffix != null ? suffix : 0;
+        while (true) {
+            String name = count > 0 ? sanitized + "_" + count : sanitized;
+            if (!swagger.getDefinitions().containsKey(name)) {
+                nameSuffixes.put(sanitized, count);
                 return name;
             }
             count += 1;
         }
-        return key;
     }
 
     public void flattenProperties(Map<String, Property> properties, String path) {
@@ -0,0 +1,23 @@
+package io.swagger.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Destination of the files generated by a {@link DefaultGenerator}. Without a sink the generator writes
+ * to the file system; a sink receives the content of every generated file instead, e.g. to stream the
+ * files straight into an archive with {@link ZipOutputSink}.
+ */
+public interface OutputSink {
+
+    /**
+     * Open a stream for a generated file. The file is complete once the stream is closed. The generator
+     * opens several streams concurrently when it renders with multiple threads.
+     *
+     * @param file the path of the generated file within the output directory
+     * @return the stream receiving the content of the file
+     * @throws IOException if the file cannot be written
+     */
+    OutputStream open(File file) throws IOException;
+}
@@ -0,0 +1,68 @@
+package io.swagger.codegen;
+
+import com.samskivert.mustache.Template;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds compiled Mustache templates and raw template sources (including partials), so that each
+ * template is read and compiled only once.
+ *
+ * A {@link DefaultGenerator} creates a new cache for every instance by default. Long-lived processes
+ * can share one instance between generator runs through {@link DefaultGenerator#setTemplateCache(TemplateCache)},
+ * as long as the template files do not change during the lifetime of the cache.
+ */
+public class TemplateCache {
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<String, Template>();
+    private final ConcurrentMap<String, String> sources = new ConcurrentHashMap<String, String>();
+
+    /**
+     * @param key the cache key of the compiled template
+     * @return the compiled template or null if it hasn't been compiled yet
+     */
+    public Template getTemplate(String key) {
+        return templates.get(key);
+    }
+
+    /**
+     * Store a compiled template unless another thread stored one for the same key first.
+     *
+     * @param key the cache key of the compiled template
+     * @param template the compiled template
+     * @return the template held by the cache for the given key
+     */
+    public Template putTemplate(String key, Template template) {
+        Template existing = templates.putIfAbsent(key, template);
+        return existing != null ? existing : template;
+    }
+
+    /**
+     * @param path the resolved template path
+     * @return the template source or null if it hasn't been read yet
+     */
+    public String getSource(String path) {
+        return sources.get(path);
+    }
+
+    /**
+     * Store a template source unless another thread stored one for the same path first.
+     *
+     * @param path the resolved template path
+     * @param source the template source
+     * @return the source held by the cache for the given path
+     */
+    public String putSource(String path, String source) {
+        String existing = sources.putIfAbsent(path, source);
+        return existing != null ? existing : source;
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public void clear() {
+        templates.clear();
+        sources.clear();
+    }
+}
@@ -0,0 +1,188 @@
+package io.swagger.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams the generated files into a zip archive instead of writing them to disk.
+ *
+ * The entries are named after the path of each file relative to the output directory, below a common
+ * top level folder. A file is buffered while it is rendered and added to the archive once its stream is
+ * closed, so files rendered concurrently never interleave. A zip stream can't replace an entry, so the
+ * last content of a file written twice is kept in a temporary file and the archive is rewritten with it
+ * when the sink is closed, leaving the file with its last content as on disk.
+ */
+public class ZipOutputSink implements OutputSink, Closeable {
+
+    private final File archive;
+    private final ZipOutputStream zip;
+    private final File outputDir;
+    private final String folder;
+    private final Set<String> names = new HashSet<String>();
+    // the last contents of the entries written more than once
+    private final Map<String, File> rewritten = new HashMap<String, File>();
+    private long compressionNanos;
+
+    /**
+     * @param archive the file receiving the archive
+     * @param outputDir the output directory of the generator
+     * @param folder the top level folder of the entries, empty to add the files at the root of the archive
+     */
+    public ZipOutputSink(File archive, File outputDir, String folder) throws IOException {
+        this.archive = archive.getAbsoluteFile();
+        this.zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(this.archive)));
+        this.outputDir = outputDir.getAbsoluteFile();
+        this.folder = folder.isEmpty() || folder.endsWith("/") ? folder : folder + "/";
+    }
+
+    @Override
+    public OutputStream open(File file) {
+        final String name = entryName(file);
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    addEntry(name, buf, count);
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds the regular files below the given directory, for the files a generator writes on its own
+     * instead of through the sink.
+     *
+     * @param directory a directory within the output directory
+     */
+    public void addFiles(File directory) throws IOException {
+        if (!directory.isDirectory()) {
+            return;
+        }
+        List<File> files = new ArrayList<File>(FileUtils.listFiles(directory, null, true));
+        Collections.sort(files);
+        for (File file : files) {
+            if (file.isFile()) {
+                byte[] contents = FileUtils.readFileToByteArray(file);
+                addEntry(entryName(file), contents, contents.length);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        long start = System.nanoTime();
+        try {
+            zip.close();
+            if (!rewritten.isEmpty()) {
+                rewrite();
+            }
+        } finally {
+            for (File file : rewritten.values()) {
+                FileUtils.deleteQuietly(file);
+            }
+            rewritten.clear();
+            compressionNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return the time spent compressing and writing the entries
+     */
+    public synchronized long getCompressionNanos() {
+        return compressionNanos;
+    }
+
+    private synchronized void addEntry(String name, byte[] contents, int length) throws IOException {
+        long start = System.nanoTime();
+        try {
+            if (names.add(name)) {
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(contents, 0, length);
+                zip.closeEntry();
+                return;
+            }
+            File file = rewritten.get(name);
+            if (file == null) {
+                file = File.createTempFile("entry-", ".tmp", archive.getParentFile());
+                rewritten.put(name, file);
+            }
+            OutputStream out = new FileOutputStream(file);
+            try {
+                out.write(contents, 0, length);
+            } finally {
+                out.close();
+            }
+        } finally {
+            compressionNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Copies the archive, replacing the entries written more than once with their last content.
+     */
+    private void rewrite() throws IOException {
+        File copy = File.createTempFile(archive.getName() + "-", ".tmp", archive.getParentFile());
+        try {
+            ZipFile source = new ZipFile(archive);
+            try {
+                ZipOutputStream target = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(copy)));
+                try {
+                    for (Enumeration<? extends ZipEntry> entries = source.entries(); entries.hasMoreElements(); ) {
+                        ZipEntry entry = entries.nextElement();
+                        File file = rewritten.get(entry.getName());
+                        InputStream in = file != null ? new FileInputStream(file) : source.getInputStream(entry);
+                        try {
+                            target.putNextEntry(new ZipEntry(entry.getName()));
+                            IOUtils.copy(in, target);
+                            target.closeEntry();
+                        } finally {
+                            in.close();
+                        }
+                    }
+                } finally {
+                    target.close();
+                }
+            } finally {
+                source.close();
+            }
+            Files.move(copy.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            FileUtils.deleteQuietly(copy);
+        }
+    }
+
+    private String entryName(File file) {
+        String path = outputDir.toURI().relativize(file.getAbsoluteFile().toURI()).getPath();
+        if (path.startsWith("/")) {
+            // not within the output directory
+            path = file.getName();
+        }
+        return folder + path;
+    }
+}
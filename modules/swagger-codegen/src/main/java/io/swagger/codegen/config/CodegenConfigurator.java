@@ -9,6 +9,7 @@ import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.auth.AuthParser;
+import io.swagger.codegen.snapshot.SpecSnapshot;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.SwaggerParser;
@@ -57,6 +58,10 @@ public class CodegenConfigurator implements Serializable {
     private String artifactVersion;
     private String library;
     private String ignoreFileOverride;
+    private int threads = 1;
+    private boolean incremental;
+    private boolean snapshot;
+    private String snapshotDir;
     private Map<String, String> systemProperties = new HashMap<String, String>();
     private Map<String, String> instantiationTypes = new HashMap<String, String>();
     private Map<String, String> typeMappings = new HashMap<String, String>();
@@ -379,13 +384,109 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public CodegenConfigurator setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public CodegenConfigurator setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @param snapshot whether to keep a snapshot of the parsed spec, which later runs read
+     *                 instead of parsing the unchanged spec again
+     * @return this configurator
+     */
+    public CodegenConfigurator setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+        return this;
+    }
+
+    public String getSnapshotDir() {
+        return snapshotDir;
+    }
+
+    /**
+     * @param snapshotDir the directory of the spec snapshots, e.g. a cache directory shared by several
+     *                    projects, by default {@link SpecSnapshot#SNAPSHOT_DIRECTORY} in the output directory
+     * @return this configurator
+     */
+    public CodegenConfigurator setSnapshotDir(String snapshotDir) {
+        this.snapshotDir = snapshotDir;
+        return this;
+    }
+
     public ClientOptInput toClientOptInput() {
+        ClientOptInput input = toClientOptInput(null);
+        if (!snapshot) {
+            return input.swagger(readSwagger());
+        }
 
-        Validate.notEmpty(lang, "language must be specified");
+        String specHash = SpecSnapshot.hashSpec(inputSpec);
+        if (specHash == null) {
+            LOGGER.info("Not keeping a snapshot of " + inputSpec + ", as it is remote or has remote references");
+            return input.swagger(readSwagger());
+        }
+        File directory = isNotEmpty(snapshotDir)
+                ? new File(toAbsolutePathStr(snapshotDir))
+                : new File(toAbsolutePathStr(outputDir), SpecSnapshot.SNAPSHOT_DIRECTORY);
+        SpecSnapshot specSnapshot = new SpecSnapshot(directory, inputSpec);
+        Swagger swagger = specSnapshot.read(specHash);
+        if (swagger != null) {
+            LOGGER.info("Read the unchanged spec from the snapshot " + specSnapshot.getFile());
+        } else {
+            swagger = readSwagger();
+            if (swagger == null) {
+                return input;
+            }
+            // the inline models are resolved by the generator after the codegen preprocessed the spec, as
+            // without a snapshot, so the snapshot suits every language
+            specSnapshot.write(specHash, swagger);
+            // generated from the snapshot like the later runs, so every run generates the same code
+            Swagger written = specSnapshot.read(specHash);
+            if (written != null) {
+                swagger = written;
+            }
+        }
+        return input.swagger(swagger);
+    }
+
+    /**
+     * Read the input spec, resolving its references with the configured authorization.
+     *
+     * @return the parsed spec, or null if it can't be read
+     */
+    public Swagger readSwagger() {
         Validate.notEmpty(inputSpec, "input spec must be specified");
 
-        setVerboseFlags();
-        setSystemProperties();
+        final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
+        return new SwaggerParser().read(inputSpec, authorizationValues, true);
+    }
+
+    /**
+     * Configure the generation of an already parsed spec, e.g. of a spec shared by several generations.
+     *
+     * @param swagger the parsed input spec, which the generation modifies, null to set it later
+     * @return the generator input
+     */
+    public ClientOptInput toClientOptInput(Swagger swagger) {
+
+        Validate.notEmpty(lang, "language must be specified");
+        Validate.notEmpty(inputSpec, "input spec must be specified");
 
         CodegenConfig config = CodegenConfigLoader.forName(lang);
 
@@ -426,11 +527,12 @@ public class CodegenConfigurator implements Serializable {
         ClientOptInput input = new ClientOptInput()
                 .config(config);
 
-        final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
+        ClientOpts clientOpts = new ClientOpts();
+        clientOpts.setThreads(threads);
+        clientOpts.setIncremental(incremental);
+        clientOpts.setGeneratorProperties(getGeneratorProperties());
 
-        Swagger swagger = new SwaggerParser().read(inputSpec, authorizationValues, true);
-
-        input.opts(new ClientOpts())
+        input.opts(clientOpts)
                 .swagger(swagger);
 
         return input;
@@ -453,32 +555,30 @@ public class CodegenConfigurator implements Serializable {
             if (dynamicProperties.containsKey(opt)) {
                 codegenConfig.additionalProperties().put(opt, dynamicProperties.get(opt));
             }
-            else if(systemProperties.containsKey(opt)) {
+            else if(systemProperties.get(opt) != null) {
                 codegenConfig.additionalProperties().put(opt, systemProperties.get(opt));
             }
         }
     }
 
-    private void setVerboseFlags() {
-        if (!verbose) {
-            return;
+    private Map<String, String> getGeneratorProperties() {
+        Map<String, String> generatorProperties = new HashMap<String, String>(systemProperties);
+        if (verbose) {
+            logVerboseFlags();
+            generatorProperties.put("debugSwagger", "");
+            generatorProperties.put("debugModels", "");
+            generatorProperties.put("debugOperations", "");
+            generatorProperties.put("debugSupportingFiles", "");
         }
+        return generatorProperties;
+    }
+
+    private void logVerboseFlags() {
         LOGGER.info("\nVERBOSE MODE: ON. Additional debug options are injected" +
                 "\n - [debugSwagger] prints the swagger specification as interpreted by the codegen" +
                 "\n - [debugModels] prints models passed to the template engine" +
                 "\n - [debugOperations] prints operations passed to the template engine" +
                 "\n - [debugSupportingFiles] prints additional data passed to the template engine");
-
-        System.setProperty("debugSwagger", "");
-        System.setProperty("debugModels", "");
-        System.setProperty("debugOperations", "");
-        System.setProperty("debugSupportingFiles", "");
-    }
-
-    private void setSystemProperties() {
-        for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
-            System.setProperty(entry.getKey(), entry.getValue());
-        }
     }
 
     private static String toAbsolutePathStr(String path) {
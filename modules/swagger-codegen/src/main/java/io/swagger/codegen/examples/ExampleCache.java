@@ -0,0 +1,101 @@
+package io.swagger.codegen.examples;
+
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The examples of the models of a spec, shared by the example generators of a run, so every model is
+ * resolved to an example once per media type.
+ *
+ * Examples are generated with a random generator seeded per model, so a cached example is the same as a
+ * freshly generated one.
+ */
+public class ExampleCache {
+
+    private final Map<String, Model> definitions;
+    private final Map<Object, Object> examples = new HashMap<Object, Object>();
+    private final Map<String, Set<String>> reachableModels = new HashMap<String, Set<String>>();
+
+    /**
+     * @param definitions the models of the spec
+     */
+    public ExampleCache(Map<String, Model> definitions) {
+        this.definitions = definitions;
+    }
+
+    /**
+     * @return the models the examples are generated from
+     */
+    public Map<String, Model> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * @param modelName the name of the model
+     * @param mediaType the media type of the example
+     * @return the example, or null if it wasn't generated yet
+     */
+    public synchronized Object get(String modelName, String mediaType) {
+        return examples.get(Arrays.asList(modelName, mediaType));
+    }
+
+    /**
+     * @param modelName the name of the model
+     * @param mediaType the media type of the example
+     * @param example the example, which must not be modified afterwards
+     */
+    public synchronized void put(String modelName, String mediaType, Object example) {
+        if (example != null) {
+            examples.put(Arrays.asList(modelName, mediaType), example);
+        }
+    }
+
+    /**
+     * @param modelName the name of the model
+     * @return the names of the models the example of the model can contain, including the model itself
+     */
+    public synchronized Set<String> getReachableModels(String modelName) {
+        Set<String> reachable = reachableModels.get(modelName);
+        if (reachable == null) {
+            reachable = new HashSet<String>();
+            Deque<String> pending = new ArrayDeque<String>();
+            pending.add(modelName);
+            while (!pending.isEmpty()) {
+                String name = pending.poll();
+                if (!reachable.add(name)) {
+                    continue;
+                }
+                Model model = definitions != null ? definitions.get(name) : null;
+                if (model instanceof ModelImpl && ((ModelImpl) model).getProperties() != null) {
+                    for (Property property : ((ModelImpl) model).getProperties().values()) {
+                        addReferencedModels(property, pending);
+                    }
+                }
+            }
+            reachableModels.put(modelName, reachable);
+        }
+        return reachable;
+    }
+
+    private static void addReferencedModels(Property property, Deque<String> models) {
+        if (property instanceof RefProperty) {
+            models.add(((RefProperty) property).getSimpleRef());
+        } else if (property instanceof ArrayProperty) {
+            addReferencedModels(((ArrayProperty) property).getItems(), models);
+        } else if (property instanceof MapProperty) {
+            addReferencedModels(((MapProperty) property).getAdditionalProperties(), models);
+        }
+    }
+}
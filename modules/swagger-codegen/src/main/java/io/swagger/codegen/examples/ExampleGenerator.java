@@ -25,18 +25,35 @@ public class ExampleGenerator {
     private static final String OUTPUT = "output";
     private static final String NONE = "none";
 
+    // the maximum number of nested models in an example, deeper models are left out like recursive ones
+    private static final int MAX_MODEL_DEPTH = 32;
+
     protected Map<String, Model> examples;
+    private final ExampleCache cache;
     private Random random;
+    // the models being resolved, outermost first
+    private final List<String> resolvingModels = new ArrayList<>();
+    // the position of the outermost model being resolved which a nested example was cut short at
+    private int outermostCut = Integer.MAX_VALUE;
 
     public ExampleGenerator(Map<String, Model> examples) {
+        this(examples, new ExampleCache(examples));
+    }
+
+    /**
+     * @param examples the models of the spec
+     * @param cache the examples already generated for the models, which are added to
+     */
+    public ExampleGenerator(Map<String, Model> examples, ExampleCache cache) {
         this.examples = examples;
+        this.cache = cache;
         // use a fixed seed to make the "random" numbers reproducible.
         this.random = new Random("ExampleGenerator".hashCode());
     }
 
     public List<Map<String, String>> generate(Map<String, Object> examples, List<String> mediaTypes, Property property) {
         List<Map<String, String>> output = new ArrayList<>();
-        Set<String> processedModels = new HashSet<>();
+        Map<String, Object> resolvedModels = new HashMap<>();
         if (examples == null) {
             if (mediaTypes == null) {
                 // assume application/json for this
@@ -46,14 +63,16 @@ public class ExampleGenerator {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
                 if (property != null && mediaType.startsWith(MIME_TYPE_JSON)) {
-                    String example = Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels));
+                    String example = Json.pretty(resolvePropertyToExample("", mediaType, property, resolvedModels));
 
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
                 } else if (property != null && mediaType.startsWith(MIME_TYPE_XML)) {
-                    String example = new XmlExampleGenerator(this.examples).toXml(property);
+                    String modelName = property instanceof RefProperty && this.examples.get(((RefProperty) property).getSimpleRef()) != null
+                            ? ((RefProperty) property).getSimpleRef() : null;
+                    String example = toXml(mediaType, modelName, property, null);
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -78,7 +97,7 @@ public class ExampleGenerator {
 
     public List<Map<String, String>> generate(Map<String, Object> examples, List<String> mediaTypes, String modelName) {
         List<Map<String, String>> output = new ArrayList<>();
-        Set<String> processedModels = new HashSet<>();
+        Map<String, Object> resolvedModels = new HashMap<>();
         if (examples == null) {
             if (mediaTypes == null) {
                 // assume application/json for this
@@ -91,7 +110,7 @@ public class ExampleGenerator {
                     final Model model = this.examples.get(modelName);
                     if (model != null) {
 
-                        String example = Json.pretty(resolveModelToExample(modelName, mediaType, model, processedModels));
+                        String example = Json.pretty(resolveModelToExample(modelName, mediaType, model, resolvedModels));
 
                         if (example != null) {
                             kv.put(EXAMPLE, example);
@@ -100,7 +119,7 @@ public class ExampleGenerator {
                     }
                 } else if (modelName != null && mediaType.startsWith(MIME_TYPE_XML)) {
                     final Model model = this.examples.get(modelName);
-                    String example = new XmlExampleGenerator(this.examples).toXml(model, 0, Collections.<String>emptySet());
+                    String example = toXml(mediaType, modelName, null, model);
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -123,7 +142,7 @@ public class ExampleGenerator {
         return output;
     }
 
-    private Object resolvePropertyToExample(String propertyName, String mediaType, Property property, Set<String> processedModels) {
+    private Object resolvePropertyToExample(String propertyName, String mediaType, Property property, Map<String, Object> resolvedModels) {
         logger.debug("Resolving example for property {}...", property);
         if (property.getExample() != null) {
             logger.debug("Example set in swagger spec, returning example: '{}'", property.getExample().toString());
@@ -158,7 +177,7 @@ public class ExampleGenerator {
             if (innerType != null) {
                 int arrayLength = null == ((ArrayProperty) property).getMaxItems() ? 2 : ((ArrayProperty) property).getMaxItems();
                 Object[] objectProperties = new Object[arrayLength];
-                Object objProperty = resolvePropertyToExample(propertyName, mediaType, innerType, processedModels);
+                Object objProperty = resolvePropertyToExample(propertyName, mediaType, innerType, resolvedModels);
                 for(int i=0; i < arrayLength; i++) {
                     objectProperties[i] = objProperty;
                 }
@@ -194,10 +213,10 @@ public class ExampleGenerator {
             Map<String, Object> mp = new HashMap<String, Object>();
             if (property.getName() != null) {
                 mp.put(property.getName(),
-                        resolvePropertyToExample(propertyName, mediaType, ((MapProperty) property).getAdditionalProperties(), processedModels));
+                        resolvePropertyToExample(propertyName, mediaType, ((MapProperty) property).getAdditionalProperties(), resolvedModels));
             } else {
                 mp.put("key",
-                        resolvePropertyToExample(propertyName, mediaType, ((MapProperty) property).getAdditionalProperties(), processedModels));
+                        resolvePropertyToExample(propertyName, mediaType, ((MapProperty) property).getAdditionalProperties(), resolvedModels));
             }
             return mp;
         } else if (property instanceof ObjectProperty) {
@@ -207,7 +226,7 @@ public class ExampleGenerator {
             logger.debug("Ref property, simple name: {}", simpleName);
             Model model = examples.get(simpleName);
             if (model != null) {
-                return resolveModelToExample(simpleName, mediaType, model, processedModels);
+                return resolveModelToExample(simpleName, mediaType, model, resolvedModels);
             }
             logger.warn("Ref property with empty model.");
         } else if (property instanceof UUIDProperty) {
@@ -230,30 +249,81 @@ public class ExampleGenerator {
         }
     }
 
-    private Object resolveModelToExample(String name, String mediaType, Model model, Set<String> processedModels) {
-        if (processedModels.contains(name)) {
-            return model.getExample();
+    private Object resolveModelToExample(String name, String mediaType, Model model, Map<String, Object> resolvedModels) {
+        if (resolvedModels.containsKey(name)) {
+            return resolvedModels.get(name);
+        }
+        if (resolvingModels.isEmpty()) {
+            outermostCut = Integer.MAX_VALUE;
+        }
+        int position = resolvingModels.indexOf(name);
+        if (position >= 0) {
+            // a recursive model, the examples of the models nested in it depend on which model is resolved first
+            outermostCut = Math.min(outermostCut, position);
+            return null;
+        }
+        if (!(model instanceof ModelImpl)) {
+            return "";
+        }
+        ModelImpl impl = (ModelImpl) model;
+        if (impl.getExample() != null) {
+            logger.debug("Using example from spec: {}", impl.getExample());
+            resolvedModels.put(name, impl.getExample());
+            return impl.getExample();
+        }
+        if (resolvingModels.size() >= MAX_MODEL_DEPTH) {
+            logger.debug("Leaving out model '{}' nested too deeply", name);
+            outermostCut = -1;
+            return null;
+        }
+        // the cached example is the one of the model resolved on its own, which differs if the model contains
+        // one of the models being resolved
+        Object cached = resolvingModels.isEmpty() || Collections.disjoint(cache.getReachableModels(name), resolvingModels)
+                ? cache.get(name, mediaType) : null;
+        if (cached != null) {
+            resolvedModels.put(name, cached);
+            return cached;
         }
-        if (model instanceof ModelImpl) {
-            processedModels.add(name);
-            ModelImpl impl = (ModelImpl) model;
-            Map<String, Object> values = new HashMap<>();
-
-            logger.debug("Resolving model '{}' to example", name);
 
-            if (impl.getExample() != null) {
-                logger.debug("Using example from spec: {}", impl.getExample());
-                return impl.getExample();
-            } else if (impl.getProperties() != null) {
-                logger.debug("Creating example from model values");
+        logger.debug("Resolving model '{}' to example", name);
+        Map<String, Object> values = new HashMap<>();
+        if (impl.getProperties() != null) {
+            logger.debug("Creating example from model values");
+            position = resolvingModels.size();
+            resolvingModels.add(name);
+            // every model has its own random numbers, so its example doesn't depend on the models resolved before
+            Random outerRandom = random;
+            random = new Random(("ExampleGenerator" + name).hashCode());
+            try {
                 for (String propertyName : impl.getProperties().keySet()) {
                     Property property = impl.getProperties().get(propertyName);
-                    values.put(propertyName, resolvePropertyToExample(propertyName, mediaType, property, processedModels));
+                    values.put(propertyName, resolvePropertyToExample(propertyName, mediaType, property, resolvedModels));
                 }
-                impl.setExample(values);
+            } finally {
+                random = outerRandom;
+                resolvingModels.remove(position);
+            }
+            if (outermostCut >= position) {
+                // the example is cut short at most at this model, so it's the same wherever the model is resolved
+                cache.put(name, mediaType, values);
+                outermostCut = Integer.MAX_VALUE;
             }
-            return values;
+        } else {
+            cache.put(name, mediaType, values);
         }
-        return "";
+        resolvedModels.put(name, values);
+        return values;
+    }
+
+    private String toXml(String mediaType, String modelName, Property property, Model model) {
+        String example = modelName != null ? (String) cache.get(modelName, mediaType) : null;
+        if (example == null) {
+            XmlExampleGenerator generator = new XmlExampleGenerator(this.examples);
+            example = property != null ? generator.toXml(property) : generator.toXml(model, 0, Collections.<String>emptySet());
+            if (modelName != null) {
+                cache.put(modelName, mediaType, example);
+            }
+        }
+        return example;
     }
 }
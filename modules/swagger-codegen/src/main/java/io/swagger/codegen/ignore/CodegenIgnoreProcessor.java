@@ -1,12 +1,13 @@
 package io.swagger.codegen.ignore;
 
 import com.google.common.collect.ImmutableList;
-import io.swagger.codegen.ignore.rules.DirectoryRule;
+import io.swagger.codegen.ignore.rules.IgnoreMatcher;
 import io.swagger.codegen.ignore.rules.Rule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -20,8 +21,12 @@ public class CodegenIgnoreProcessor {
 
     private File ignoreFile = null;
 
+    private URI ignoreFileDirectory = null;
+
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
+    // the rules compiled for matching, built on first use
+    private IgnoreMatcher matcher = null;
 
     /**
      * Loads the default ignore file (.swagger-codegen-ignore) from the specified path.
@@ -88,6 +93,7 @@ public class CodegenIgnoreProcessor {
 
                 // rule could be null here if it's a COMMENT, for example
                 if(rule != null) {
+                    matcher = null;
                     if (Boolean.TRUE.equals(rule.getNegated())) {
                         inclusionRules.add(rule);
                     } else {
@@ -108,66 +114,22 @@ public class CodegenIgnoreProcessor {
     public boolean allowsFile(final File targetFile) {
         if(this.ignoreFile == null) return true;
 
-        File file = new File(this.ignoreFile.getParentFile().toURI().relativize(targetFile.toURI()).getPath());
-        Boolean directoryExcluded = false;
-        Boolean exclude = false;
         if(exclusionRules.size() == 0 && inclusionRules.size() == 0) {
             return true;
         }
-
-        // NOTE: We *must* process all exclusion rules
-        for (int i = 0; i < exclusionRules.size(); i++) {
-            Rule current = exclusionRules.get(i);
-            Rule.Operation op = current.evaluate(file.getPath());
-
-            switch (op){
-                case EXCLUDE:
-                    exclude = true;
-
-                    // Include rule can't override rules that exclude a file by some parent directory.
-                    if(current instanceof DirectoryRule) {
-                        directoryExcluded = true;
-                    }
-                    break;
-                case INCLUDE:
-                    // This won't happen here.
-                    break;
-                case NOOP:
-                    break;
-                case EXCLUDE_AND_TERMINATE:
-                    i = exclusionRules.size();
-                    break;
-            }
+        if(this.ignoreFileDirectory == null) {
+            this.ignoreFileDirectory = this.ignoreFile.getParentFile().toURI();
         }
+        File file = new File(this.ignoreFileDirectory.relativize(targetFile.toURI()).getPath());
 
-        if(exclude) {
-            // Only need to process inclusion rules if we've been excluded
-            for (int i = 0; exclude && i < inclusionRules.size(); i++) {
-                Rule current = inclusionRules.get(i);
-                Rule.Operation op = current.evaluate(file.getPath());
-
-                // At this point exclude=true means the file should be ignored.
-                // op == INCLUDE means we have to flip that flag.
-                if(op.equals(Rule.Operation.INCLUDE)) {
-                    if(current instanceof DirectoryRule && directoryExcluded) {
-                        // e.g
-                        // baz/
-                        // !foo/bar/baz/
-                        // NOTE: Possibly surprising side effect:
-                        // foo/bar/baz/
-                        // !bar/
-                        exclude = false;
-                    } else if (!directoryExcluded) {
-                        // e.g.
-                        // **/*.log
-                        // !ISSUE_1234.log
-                        exclude = false;
-                    }
-                }
-            }
-        }
+        return getMatcher().allows(file.getPath());
+    }
 
-        return Boolean.FALSE.equals(exclude);
+    private synchronized IgnoreMatcher getMatcher() {
+        if (matcher == null) {
+            matcher = new IgnoreMatcher(exclusionRules, inclusionRules);
+        }
+        return matcher;
     }
 
     /**
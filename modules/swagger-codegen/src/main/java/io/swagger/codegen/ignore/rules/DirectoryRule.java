@@ -22,6 +22,11 @@ public class DirectoryRule extends FileRule {
 
     @Override
     public Boolean matches(String relativePath) {
-        return contentsMatcher.matches(FileSystems.getDefault().getPath(relativePath)) || directoryMatcher.matches(FileSystems.getDefault().getPath(relativePath));
+        return matches(FileSystems.getDefault().getPath(relativePath));
+    }
+
+    @Override
+    boolean matches(Path relativePath) {
+        return contentsMatcher.matches(relativePath) || directoryMatcher.matches(relativePath);
     }
 }
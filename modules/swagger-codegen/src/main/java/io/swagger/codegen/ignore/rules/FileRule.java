@@ -1,6 +1,7 @@
 package io.swagger.codegen.ignore.rules;
 
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.List;
 
@@ -15,6 +16,10 @@ public class FileRule extends Rule {
 
     @Override
     public Boolean matches(String relativePath) {
-        return matcher.matches(FileSystems.getDefault().getPath(relativePath));
+        return matches(FileSystems.getDefault().getPath(relativePath));
+    }
+
+    boolean matches(Path relativePath) {
+        return matcher.matches(relativePath);
     }
 }
@@ -0,0 +1,215 @@
+package io.swagger.codegen.ignore.rules;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides whether a path is allowed by the rules of an ignore file, for matching many paths against many rules.
+ *
+ * Rules without wildcards are compiled into sets: a directory rule is matched by looking up the parent
+ * directories of a path, a file rule by looking up the path itself. Only rules with wildcards are matched one
+ * by one, and matching stops at the first rule which decides. The decisions are the same as evaluating all
+ * rules in order, see {@link #allowsInOrder(String)}.
+ */
+public class IgnoreMatcher {
+
+    // literal rules are compared to the path as a string, which is only what the glob matches with / separators
+    private static final boolean SLASH_SEPARATOR = "/".equals(FileSystems.getDefault().getSeparator());
+    private static final String GLOB_SPECIAL_CHARACTERS = "\\*?[{";
+
+    private final List<Rule> exclusionRules;
+    private final List<Rule> inclusionRules;
+    private final boolean compiled;
+    private final CompiledRules excludedDirectories = new CompiledRules();
+    private final CompiledRules excludedFiles = new CompiledRules();
+    private final CompiledRules includedDirectories = new CompiledRules();
+    private final CompiledRules includedFiles = new CompiledRules();
+
+    /**
+     * @param exclusionRules the rules of the ignore file excluding paths, in order
+     * @param inclusionRules the negated rules of the ignore file including paths again, in order
+     */
+    public IgnoreMatcher(List<Rule> exclusionRules, List<Rule> inclusionRules) {
+        this.exclusionRules = new ArrayList<Rule>(exclusionRules);
+        this.inclusionRules = new ArrayList<Rule>(inclusionRules);
+        boolean compilable = true;
+        for (Rule rule : exclusionRules) {
+            compilable &= add(rule, excludedDirectories, excludedFiles);
+        }
+        for (Rule rule : inclusionRules) {
+            compilable &= add(rule, includedDirectories, includedFiles);
+        }
+        this.compiled = compilable;
+    }
+
+    /**
+     * @param relativePath the path relative to the ignore file
+     * @return {@code false} if the path is excluded by the rules, otherwise {@code true}
+     */
+    public boolean allows(String relativePath) {
+        if (!compiled) {
+            return allowsInOrder(relativePath);
+        }
+        Path path = FileSystems.getDefault().getPath(relativePath);
+        boolean directoryExcluded = excludedDirectories.matches(relativePath, path);
+        if (!directoryExcluded && !excludedFiles.matches(relativePath, path)) {
+            return true;
+        }
+        // a file in an excluded directory can only be included again by a directory rule
+        return includedDirectories.matches(relativePath, path)
+                || !directoryExcluded && includedFiles.matches(relativePath, path);
+    }
+
+    /**
+     * Evaluate all rules in order, which is how paths are matched if the rules can't be compiled.
+     *
+     * @param relativePath the path relative to the ignore file
+     * @return {@code false} if the path is excluded by the rules, otherwise {@code true}
+     */
+    public boolean allowsInOrder(String relativePath) {
+        Boolean directoryExcluded = false;
+        Boolean exclude = false;
+
+        // NOTE: We *must* process all exclusion rules
+        for (int i = 0; i < exclusionRules.size(); i++) {
+            Rule current = exclusionRules.get(i);
+            Rule.Operation op = current.evaluate(relativePath);
+
+            switch (op){
+                case EXCLUDE:
+                    exclude = true;
+
+                    // Include rule can't override rules that exclude a file by some parent directory.
+                    if(current instanceof DirectoryRule) {
+                        directoryExcluded = true;
+                    }
+                    break;
+                case INCLUDE:
+                    // This won't happen here.
+                    break;
+                case NOOP:
+                    break;
+                case EXCLUDE_AND_TERMINATE:
+                    i = exclusionRules.size();
+                    break;
+            }
+        }
+
+        if(exclude) {
+            // Only need to process inclusion rules if we've been excluded
+            for (int i = 0; exclude && i < inclusionRules.size(); i++) {
+                Rule current = inclusionRules.get(i);
+                Rule.Operation op = current.evaluate(relativePath);
+
+                // At this point exclude=true means the file should be ignored.
+                // op == INCLUDE means we have to flip that flag.
+                if(op.equals(Rule.Operation.INCLUDE)) {
+                    if(current instanceof DirectoryRule && directoryExcluded) {
+                        // e.g
+                        // baz/
+                        // !foo/bar/baz/
+                        // NOTE: Possibly surprising side effect:
+                        // foo/bar/baz/
+                        // !bar/
+                        exclude = false;
+                    } else if (!directoryExcluded) {
+                        // e.g.
+                        // **/*.log
+                        // !ISSUE_1234.log
+                        exclude = false;
+                    }
+                }
+            }
+        }
+
+        return Boolean.FALSE.equals(exclude);
+    }
+
+    /**
+     * @return whether the rule could be compiled, rules of other types can terminate the evaluation
+     */
+    private static boolean add(Rule rule, CompiledRules directories, CompiledRules files) {
+        Class<?> type = rule.getClass();
+        if (type == InvalidRule.class) {
+            // never matches
+            return true;
+        }
+        if (type == DirectoryRule.class) {
+            String pattern = rule.getPattern();
+            if (isLiteral(pattern)) {
+                directories.directoryPrefixes.add(pattern.endsWith("/") ? pattern : pattern + "/");
+            } else {
+                directories.globs.add((FileRule) rule);
+            }
+            return true;
+        }
+        if (type == FileRule.class) {
+            String pattern = rule.getPattern();
+            if (isLiteral(pattern)) {
+                files.paths.add(pattern);
+            } else {
+                files.globs.add((FileRule) rule);
+            }
+            return true;
+        }
+        if (type == RootedFileRule.class) {
+            files.others.add(rule);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        if (!SLASH_SEPARATOR) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            if (GLOB_SPECIAL_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The rules of one kind, matching if any of them matches.
+     */
+    private static class CompiledRules {
+        // literal directory rules as the beginning of the paths inside the directory, e.g. "docs/"
+        private final Set<String> directoryPrefixes = new HashSet<String>();
+        private final Set<String> paths = new HashSet<String>();
+        private final List<FileRule> globs = new ArrayList<FileRule>();
+        private final List<Rule> others = new ArrayList<Rule>();
+
+        boolean matches(String relativePath, Path path) {
+            if (!paths.isEmpty() || !directoryPrefixes.isEmpty()) {
+                String pathString = path.toString();
+                if (paths.contains(pathString)) {
+                    return true;
+                }
+                if (!directoryPrefixes.isEmpty()) {
+                    for (int i = pathString.indexOf('/'); i >= 0; i = pathString.indexOf('/', i + 1)) {
+                        if (directoryPrefixes.contains(pathString.substring(0, i + 1))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            for (FileRule glob : globs) {
+                if (glob.matches(path)) {
+                    return true;
+                }
+            }
+            for (Rule other : others) {
+                if (Boolean.TRUE.equals(other.matches(relativePath))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
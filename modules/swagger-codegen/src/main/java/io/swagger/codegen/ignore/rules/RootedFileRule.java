@@ -2,6 +2,7 @@ package io.swagger.codegen.ignore.rules;
 
 import java.util.List;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * A special case rule which matches files only if they're located
@@ -10,6 +11,7 @@ import java.util.regex.Pattern;
 public class RootedFileRule extends Rule {
     private String definedFilename = null;
     private String definedExtension = null;
+    private Pattern definedFilenamePattern = null;
 
     RootedFileRule(List<Part> syntax, String definition) {
         super(syntax, definition);
@@ -17,6 +19,22 @@ public class RootedFileRule extends Rule {
         int separatorIndex = definition.lastIndexOf(".");
         definedFilename = getFilenamePart(definition, separatorIndex);
         definedExtension = getExtensionPart(definition, separatorIndex);
+        if (definedFilename.contains(IgnoreLineParser.Token.MATCH_ANY.getPattern())) {
+            try {
+                definedFilenamePattern = compileFilenamePattern();
+            } catch (PatternSyntaxException e) {
+                // reported when a file is matched against the rule
+            }
+        }
+    }
+
+    private Pattern compileFilenamePattern() {
+        // TODO: Evaluate any other escape requirements here.
+        return Pattern.compile(
+                definedFilename
+                        .replaceAll(Pattern.quote("."), "\\\\Q.\\\\E")
+                        .replaceAll(Pattern.quote("*"), ".*?") // non-greedy match on 0+ any character
+        );
     }
 
     private String getFilenamePart(final String input, int stopIndex){
@@ -41,12 +59,7 @@ public class RootedFileRule extends Rule {
             boolean extensionMatches = definedExtension.equals(extension) || definedExtension.equals(IgnoreLineParser.Token.MATCH_ANY.getPattern());
 
             if(extensionMatches && definedFilename.contains(IgnoreLineParser.Token.MATCH_ANY.getPattern())) {
-                // TODO: Evaluate any other escape requirements here.
-                Pattern regex = Pattern.compile(
-                        definedFilename
-                                .replaceAll(Pattern.quote("."), "\\\\Q.\\\\E")
-                                .replaceAll(Pattern.quote("*"), ".*?") // non-greedy match on 0+ any character
-                );
+                Pattern regex = definedFilenamePattern != null ? definedFilenamePattern : compileFilenamePattern();
                 return regex.matcher(filename).matches();
             }
 
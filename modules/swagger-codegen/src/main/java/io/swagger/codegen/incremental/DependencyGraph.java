@@ -0,0 +1,197 @@
+package io.swagger.codegen.incremental;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Dependency graph between the definitions and operations of a (flattened) specification.
+ *
+ * Every definition and operation is a node with a hash of its content. A node depends on the definitions
+ * it references, a parent model additionally depends on the models extending it (e.g. to list
+ * discriminator subtypes). Comparing the hashes with those of a previous run yields the nodes affected by
+ * a change of the specification: the changed, added and removed nodes and everything depending on them.
+ * Everything outside of paths and definitions (info, host, security, global parameters, ...) is covered
+ * by a single global hash.
+ */
+public class DependencyGraph {
+
+    private static final String DEFINITIONS_REF = "#/definitions/";
+
+    private final String globalHash;
+    private final Map<String, String> hashes = new TreeMap<String, String>();
+    private final Map<String, Set<String>> dependents = new HashMap<String, Set<String>>();
+
+    public DependencyGraph(Swagger swagger) {
+        ObjectNode global = Json.mapper().valueToTree(swagger);
+        global.remove("paths");
+        global.remove("definitions");
+        globalHash = hash(global);
+
+        if (swagger.getDefinitions() != null) {
+            for (Map.Entry<String, Model> definition : swagger.getDefinitions().entrySet()) {
+                String node = modelNode(definition.getKey());
+                JsonNode tree = Json.mapper().valueToTree(definition.getValue());
+                hashes.put(node, hash(tree));
+                addReferences(node, tree);
+
+                if (definition.getValue() instanceof ComposedModel) {
+                    ComposedModel composed = (ComposedModel) definition.getValue();
+                    if (composed.getParent() instanceof RefModel) {
+                        addDependency(modelNode(((RefModel) composed.getParent()).getSimpleRef()), node);
+                    }
+                    if (composed.getInterfaces() != null) {
+                        for (RefModel refModel : composed.getInterfaces()) {
+                            addDependency(modelNode(refModel.getSimpleRef()), node);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (swagger.getPaths() != null) {
+            for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+                for (Map.Entry<HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                    String node = operationNode(operation.getKey().name(), path.getKey());
+                    // path level parameters are merged into each operation during generation
+                    ArrayNode tree = Json.mapper().createArrayNode();
+                    tree.add(Json.mapper().valueToTree(operation.getValue()));
+                    tree.add(Json.mapper().valueToTree(path.getValue().getParameters()));
+                    hashes.put(node, hash(tree));
+                    addReferences(node, tree);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param name the name of the definition
+     * @return the node of the given definition
+     */
+    public static String modelNode(String name) {
+        return "model:" + name;
+    }
+
+    /**
+     * @param httpMethod the HTTP method of the operation
+     * @param path the resource path of the operation
+     * @return the node of the given operation
+     */
+    public static String operationNode(String httpMethod, String path) {
+        return "operation:" + httpMethod.toUpperCase(Locale.ROOT) + " " + path;
+    }
+
+    public String getGlobalHash() {
+        return globalHash;
+    }
+
+    /**
+     * @return the content hash of every node
+     */
+    public Map<String, String> getHashes() {
+        return Collections.unmodifiableMap(hashes);
+    }
+
+    public boolean contains(String node) {
+        return hashes.containsKey(node);
+    }
+
+    /**
+     * @param node a node of the graph
+     * @return the nodes which directly depend on the given node
+     */
+    public Set<String> getDependents(String node) {
+        Set<String> nodes = dependents.get(node);
+        return nodes != null ? Collections.unmodifiableSet(nodes) : Collections.<String>emptySet();
+    }
+
+    /**
+     * @param previousHashes the node hashes of a previous run
+     * @return the nodes which changed, were added or removed since the previous run and all nodes which
+     * transitively depend on them
+     */
+    public Set<String> getAffectedNodes(Map<String, String> previousHashes) {
+        Deque<String> queue = new ArrayDeque<String>();
+        for (Map.Entry<String, String> entry : hashes.entrySet()) {
+            if (!entry.getValue().equals(previousHashes.get(entry.getKey()))) {
+                queue.add(entry.getKey());
+            }
+        }
+        for (String node : previousHashes.keySet()) {
+            if (!hashes.containsKey(node)) {
+                queue.add(node);
+            }
+        }
+
+        Set<String> affected = new HashSet<String>();
+        while (!queue.isEmpty()) {
+            String node = queue.poll();
+            if (affected.add(node)) {
+                queue.addAll(getDependents(node));
+            }
+        }
+        return affected;
+    }
+
+    private void addReferences(String node, JsonNode tree) {
+        if (tree.isObject()) {
+            JsonNode ref = tree.get("$ref");
+            if (ref != null && ref.isTextual()) {
+                String definition = toDefinition(ref.asText());
+                if (definition != null) {
+                    addDependency(node, modelNode(definition));
+                }
+            }
+        }
+        for (Iterator<JsonNode> children = tree.elements(); children.hasNext(); ) {
+            addReferences(node, children.next());
+        }
+    }
+
+    private void addDependency(String node, String dependency) {
+        if (node.equals(dependency)) {
+            return;
+        }
+        Set<String> nodes = dependents.get(dependency);
+        if (nodes == null) {
+            nodes = new HashSet<String>();
+            dependents.put(dependency, nodes);
+        }
+        nodes.add(node);
+    }
+
+    private static String toDefinition(String ref) {
+        if (ref.startsWith(DEFINITIONS_REF)) {
+            return ref.substring(DEFINITIONS_REF.length());
+        }
+        // simple references like "Pet", relative or remote references are not definitions of this spec
+        if (ref.indexOf('#') < 0 && ref.indexOf('/') < 0 && ref.indexOf('.') < 0) {
+            return ref;
+        }
+        return null;
+    }
+
+    private static String hash(JsonNode tree) {
+        return GenerationManifest.hash(tree.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
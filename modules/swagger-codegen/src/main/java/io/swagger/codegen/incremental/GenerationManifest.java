@@ -0,0 +1,288 @@
+package io.swagger.codegen.incremental;
+
+import com.google.common.hash.Hashing;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the inputs and outputs of a generator run in {@code .swagger-codegen/manifest.json} so that
+ * the next run can skip outputs which are known to be up to date.
+ *
+ * An output is up to date when the generator options hash is the same as in the previous run, the file
+ * on disk still has the content recorded by that run and either the spec hash is unchanged or, given a
+ * {@link DependencyGraph}, none of the definitions and operations the output was rendered from is
+ * affected by the changes of the spec. Outputs without recorded sources (e.g. supporting files, which
+ * depend on all models and operations) are rendered again on every change of the spec. Outputs which
+ * are rendered again are only written when their content differs from the file on disk, so unchanged
+ * files keep their modification time.
+ */
+public class GenerationManifest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String MANIFEST_FILE = ".swagger-codegen" + File.separator + "manifest.json";
+
+    private final File outputDir;
+    private final String specHash;
+    private final String optionsHash;
+    private final Map<String, Entry> previousFiles;
+    private final boolean specUnchanged;
+    private final String previousGlobalHash;
+    private final Map<String, String> previousNodes;
+    private final ConcurrentMap<String, Entry> files = new ConcurrentHashMap<String, Entry>();
+    private final ConcurrentMap<String, List<String>> sources = new ConcurrentHashMap<String, List<String>>();
+    private DependencyGraph dependencyGraph;
+    private Set<String> affectedNodes;
+
+    /**
+     * @param outputDir the output directory of the generator run
+     * @param specHash the hash of the input specification
+     * @param optionsHash the hash of the generator options, templates and generator version
+     */
+    public GenerationManifest(File outputDir, String specHash, String optionsHash) {
+        this.outputDir = outputDir;
+        this.specHash = specHash;
+        this.optionsHash = optionsHash;
+
+        Data previous = read(new File(outputDir, MANIFEST_FILE));
+        if (previous != null && optionsHash.equals(previous.optionsHash) && previous.files != null) {
+            this.previousFiles = previous.files;
+            this.specUnchanged = specHash.equals(previous.specHash);
+            this.previousGlobalHash = previous.globalHash;
+            this.previousNodes = previous.nodes;
+        } else {
+            this.previousFiles = new TreeMap<String, Entry>();
+            this.specUnchanged = false;
+            this.previousGlobalHash = null;
+            this.previousNodes = null;
+        }
+    }
+
+    public static String hash(byte[] contents) {
+        return Hashing.sha256().hashBytes(contents).toString();
+    }
+
+    public String getSpecHash() {
+        return specHash;
+    }
+
+    public String getOptionsHash() {
+        return optionsHash;
+    }
+
+    public DependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    /**
+     * Set the dependency graph of the flattened spec, which allows to reuse the outputs of definitions
+     * and operations not affected by a change of the spec. The node hashes of the graph are recorded
+     * for the next run.
+     *
+     * @param dependencyGraph the dependency graph of the spec
+     */
+    public void setDependencyGraph(DependencyGraph dependencyGraph) {
+        this.dependencyGraph = dependencyGraph;
+        if (!specUnchanged && previousNodes != null && dependencyGraph.getGlobalHash().equals(previousGlobalHash)) {
+            this.affectedNodes = dependencyGraph.getAffectedNodes(previousNodes);
+            LOGGER.info(affectedNodes.size() + " of " + dependencyGraph.getHashes().size()
+                    + " definitions and operations are affected by changes of the spec");
+        }
+    }
+
+    /**
+     * Record the nodes of the {@link DependencyGraph} an output is rendered from. Has to be called before
+     * the output is checked or written.
+     *
+     * @param file the output file
+     * @param nodes the definition and operation nodes the output is rendered from
+     */
+    public void setSources(File file, Collection<String> nodes) {
+        sources.put(relativize(file), new ArrayList<String>(new TreeSet<String>(nodes)));
+    }
+
+    /**
+     * @param file the output file
+     * @return true if the inputs of the output are unchanged since the previous run and the file on disk
+     * still holds the content written by it
+     */
+    public boolean isUpToDate(File file) {
+        String path = relativize(file);
+        Entry entry = previousFiles.get(path);
+        if (entry == null || !matches(file, entry) || !isUnaffected(path, entry)) {
+            return false;
+        }
+        entry.sources = sources.get(path);
+        files.put(path, entry);
+        return true;
+    }
+
+    /**
+     * Record the content of an output and check whether it differs from the file on disk.
+     *
+     * @param file the output file
+     * @param contents the rendered content
+     * @return true if the file has to be written, false if it already holds the given content
+     */
+    public boolean update(File file, byte[] contents) {
+        return update(file, hash(contents), contents.length);
+    }
+
+    /**
+     * Record the content of an output and check whether it differs from the file on disk.
+     *
+     * @param file the output file
+     * @param sha256 the hash of the rendered content
+     * @param size the size of the rendered content in bytes
+     * @return true if the file has to be written, false if it already holds content with the given hash
+     */
+    public boolean update(File file, String sha256, long size) {
+        String path = relativize(file);
+        Entry entry = new Entry();
+        entry.sha256 = sha256;
+        entry.size = size;
+        entry.sources = sources.get(path);
+
+        boolean changed = true;
+        if (file.isFile() && file.length() == size) {
+            Entry previous = previousFiles.get(path);
+            if (previous != null && entry.sha256.equals(previous.sha256) && matches(file, previous)) {
+                changed = false;
+            } else {
+                try {
+                    changed = !entry.sha256.equals(hash(FileUtils.readFileToByteArray(file)));
+                } catch (IOException e) {
+                    LOGGER.debug("Unable to read " + file + ", it will be overwritten", e);
+                }
+            }
+        }
+        if (!changed) {
+            entry.lastModified = file.lastModified();
+            files.put(path, entry);
+        } else {
+            // the modification time is only known once the file has been written
+            files.remove(path);
+        }
+        return changed;
+    }
+
+    /**
+     * Record an output after it has been written.
+     *
+     * @param file the written file
+     * @param contents the written content
+     */
+    public void written(File file, byte[] contents) {
+        written(file, hash(contents), contents.length);
+    }
+
+    /**
+     * Record an output after it has been written.
+     *
+     * @param file the written file
+     * @param sha256 the hash of the written content
+     * @param size the size of the written content in bytes
+     */
+    public void written(File file, String sha256, long size) {
+        Entry entry = new Entry();
+        entry.sha256 = sha256;
+        entry.size = size;
+        entry.lastModified = file.lastModified();
+        String path = relativize(file);
+        entry.sources = sources.get(path);
+        files.put(path, entry);
+    }
+
+    /**
+     * Write the manifest of this run. Entries of the previous run which were not rendered again are kept
+     * as long as the spec and options did not change.
+     *
+     * @throws IOException if the manifest cannot be written
+     */
+    public void save() throws IOException {
+        Data data = new Data();
+        data.specHash = specHash;
+        data.optionsHash = optionsHash;
+        data.files = new TreeMap<String, Entry>();
+        if (specUnchanged) {
+            data.files.putAll(previousFiles);
+        }
+        data.files.putAll(files);
+        if (dependencyGraph != null) {
+            data.globalHash = dependencyGraph.getGlobalHash();
+            data.nodes = new TreeMap<String, String>(dependencyGraph.getHashes());
+        }
+
+        File manifestFile = new File(outputDir, MANIFEST_FILE);
+        manifestFile.getParentFile().mkdirs();
+        Json.pretty().writeValue(manifestFile, data);
+    }
+
+    private boolean isUnaffected(String path, Entry entry) {
+        if (specUnchanged) {
+            return true;
+        }
+        if (affectedNodes == null) {
+            return false;
+        }
+        List<String> nodes = sources.get(path);
+        if (nodes == null || !nodes.equals(entry.sources)) {
+            return false;
+        }
+        for (String node : nodes) {
+            if (affectedNodes.contains(node) || !dependencyGraph.contains(node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(File file, Entry entry) {
+        return file.isFile() && file.length() == entry.size && file.lastModified() == entry.lastModified;
+    }
+
+    private String relativize(File file) {
+        return outputDir.toURI().relativize(file.getAbsoluteFile().toURI()).getPath();
+    }
+
+    private static Data read(File manifestFile) {
+        if (!manifestFile.isFile()) {
+            return null;
+        }
+        try {
+            return Json.mapper().readValue(manifestFile, Data.class);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read " + manifestFile + ", all files will be generated", e);
+            return null;
+        }
+    }
+
+    static class Data {
+        public String specHash;
+        public String optionsHash;
+        public String globalHash;
+        public Map<String, String> nodes;
+        public Map<String, Entry> files;
+    }
+
+    static class Entry {
+        public String sha256;
+        public long size;
+        public long lastModified;
+        public List<String> sources;
+    }
+}
@@ -0,0 +1,46 @@
+package io.swagger.codegen.instrumentation;
+
+/**
+ * Receives the phases of a generator run, e.g. to record how long they take.
+ *
+ * The generator calls {@link #start(Phase, String)} when a phase begins and closes the returned span when it
+ * ends, also if it fails. Implementations have to be thread-safe when the generator renders with several
+ * threads.
+ */
+public interface Instrumentation {
+
+    /**
+     * Does nothing, the default of the generator.
+     */
+    Instrumentation NOOP = new Instrumentation() {
+        @Override
+        public Span start(Phase phase, String name) {
+            return Span.NOOP;
+        }
+    };
+
+    /**
+     * @param phase the phase which begins
+     * @param name what the phase processes, e.g. the name of a model, or null for a phase of the whole run
+     * @return the span closed when the phase ends
+     */
+    Span start(Phase phase, String name);
+
+    /**
+     * A running phase.
+     */
+    interface Span extends AutoCloseable {
+
+        Span NOOP = new Span() {
+            @Override
+            public void close() {
+            }
+        };
+
+        /**
+         * End the phase.
+         */
+        @Override
+        void close();
+    }
+}
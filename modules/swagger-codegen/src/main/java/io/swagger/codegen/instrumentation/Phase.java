@@ -0,0 +1,30 @@
+package io.swagger.codegen.instrumentation;
+
+/**
+ * The phases of a generator run reported to {@link Instrumentation}.
+ *
+ * The phases which run once per generation are reported without a name. The phases which run per model,
+ * operation or file are named after what they process and nested in the phases of the whole run.
+ */
+public enum Phase {
+    /** Configuring the generator and the codegen for the spec. */
+    CONFIGURE,
+    /** Resolving the inline models of the spec. */
+    FLATTEN,
+    /** Processing the models and rendering their files. */
+    MODELS,
+    /** Processing the operations and rendering the API files. */
+    APIS,
+    /** Rendering and copying the supporting files. */
+    SUPPORTING_FILES,
+    /** Converting a model of the spec, named after the model. */
+    MODEL,
+    /** Post processing all models together. */
+    POST_PROCESS_MODELS,
+    /** Converting an operation of the spec, named after its method and path. */
+    OPERATION,
+    /** Rendering a template, named after the output file. The output is streamed, so this includes writing it. */
+    RENDER,
+    /** Writing or copying a file which is not rendered from a template, named after the output file. */
+    WRITE
+}
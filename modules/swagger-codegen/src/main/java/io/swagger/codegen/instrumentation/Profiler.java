@@ -0,0 +1,202 @@
+package io.swagger.codegen.instrumentation;
+
+import io.swagger.util.Json;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Records the wall time, the CPU time and the memory allocated by every phase of a generator run, and
+ * reports them per phase as a table or as JSON.
+ *
+ * CPU time and allocated memory are measured on the thread running a phase, if the JVM supports it;
+ * otherwise they are reported as -1. The phases of the whole run contain the phases of the models,
+ * operations and files, so their figures overlap.
+ */
+public class Profiler implements Instrumentation {
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTimeSupported;
+    private final boolean allocationSupported;
+    private final Map<Phase, PhaseStats> stats = new EnumMap<Phase, PhaseStats>(Phase.class);
+
+    public Profiler() {
+        this.cpuTimeSupported = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+        this.allocationSupported = isAllocationSupported(threads);
+    }
+
+    @Override
+    public Span start(final Phase phase, final String name) {
+        final long wall = System.nanoTime();
+        final long cpu = cpuTime();
+        final long allocated = allocatedBytes();
+        return new Span() {
+            @Override
+            public void close() {
+                record(phase, name, System.nanoTime() - wall,
+                        cpuTimeSupported ? cpuTime() - cpu : -1,
+                        allocationSupported ? allocatedBytes() - allocated : -1);
+            }
+        };
+    }
+
+    /**
+     * @return the figures of the phases which ran, in the order of {@link Phase}
+     */
+    public List<PhaseStats> getStats() {
+        synchronized (stats) {
+            List<PhaseStats> copy = new ArrayList<PhaseStats>();
+            for (PhaseStats phaseStats : stats.values()) {
+                copy.add(new PhaseStats(phaseStats));
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * @return the figures of the phases as a table, with times in milliseconds and memory in megabytes
+     */
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, "%-20s %8s %12s %12s %12s %12s  %s%n",
+                "phase", "count", "wall ms", "cpu ms", "alloc MB", "max wall ms", "slowest"));
+        for (PhaseStats phaseStats : getStats()) {
+            table.append(String.format(Locale.ROOT, "%-20s %8d %12.1f %12s %12s %12.1f  %s%n",
+                    phaseStats.getPhase().name().toLowerCase(Locale.ROOT),
+                    phaseStats.getCount(),
+                    phaseStats.getWallNanos() / 1e6,
+                    phaseStats.getCpuNanos() >= 0 ? String.format(Locale.ROOT, "%.1f", phaseStats.getCpuNanos() / 1e6) : "n/a",
+                    phaseStats.getAllocatedBytes() >= 0 ? String.format(Locale.ROOT, "%.1f", phaseStats.getAllocatedBytes() / 1048576.0) : "n/a",
+                    phaseStats.getMaxWallNanos() / 1e6,
+                    phaseStats.getSlowest() != null ? phaseStats.getSlowest() : ""));
+        }
+        return table.toString();
+    }
+
+    /**
+     * @return the figures of the phases as JSON, with times in nanoseconds and memory in bytes
+     */
+    public String toJson() {
+        return Json.pretty(getStats());
+    }
+
+    private void record(Phase phase, String name, long wallNanos, long cpuNanos, long allocatedBytes) {
+        synchronized (stats) {
+            PhaseStats phaseStats = stats.get(phase);
+            if (phaseStats == null) {
+                phaseStats = new PhaseStats(phase, cpuTimeSupported, allocationSupported);
+                stats.put(phase, phaseStats);
+            }
+            phaseStats.count++;
+            phaseStats.wallNanos += wallNanos;
+            if (cpuTimeSupported) {
+                phaseStats.cpuNanos += cpuNanos;
+            }
+            if (allocationSupported) {
+                phaseStats.allocatedBytes += allocatedBytes;
+            }
+            if (wallNanos > phaseStats.maxWallNanos) {
+                phaseStats.maxWallNanos = wallNanos;
+                phaseStats.slowest = name;
+            }
+        }
+    }
+
+    private long cpuTime() {
+        return cpuTimeSupported ? threads.getCurrentThreadCpuTime() : 0;
+    }
+
+    private long allocatedBytes() {
+        if (!allocationSupported) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static boolean isAllocationSupported(ThreadMXBean threads) {
+        try {
+            if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+                return false;
+            }
+            com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+            return allocation.isThreadAllocatedMemorySupported() && allocation.isThreadAllocatedMemoryEnabled();
+        } catch (LinkageError e) {
+            // not a HotSpot based JVM
+            return false;
+        }
+    }
+
+    /**
+     * The figures of a phase, summed over all times it ran.
+     */
+    public static class PhaseStats {
+        private final Phase phase;
+        private long count;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private long maxWallNanos;
+        private String slowest;
+
+        PhaseStats(Phase phase, boolean cpuTimeSupported, boolean allocationSupported) {
+            this.phase = phase;
+            this.cpuNanos = cpuTimeSupported ? 0 : -1;
+            this.allocatedBytes = allocationSupported ? 0 : -1;
+        }
+
+        PhaseStats(PhaseStats other) {
+            this.phase = other.phase;
+            this.count = other.count;
+            this.wallNanos = other.wallNanos;
+            this.cpuNanos = other.cpuNanos;
+            this.allocatedBytes = other.allocatedBytes;
+            this.maxWallNanos = other.maxWallNanos;
+            this.slowest = other.slowest;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        /**
+         * @return the CPU time, or -1 if the JVM doesn't measure it
+         */
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        /**
+         * @return the allocated memory, or -1 if the JVM doesn't measure it
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * @return the wall time of the slowest run of the phase
+         */
+        public long getMaxWallNanos() {
+            return maxWallNanos;
+        }
+
+        /**
+         * @return the name of the slowest run of the phase, null for the phases of the whole run
+         */
+        public String getSlowest() {
+            return slowest;
+        }
+    }
+}
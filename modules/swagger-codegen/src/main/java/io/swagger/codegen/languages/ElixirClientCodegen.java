@@ -723,7 +723,7 @@ public class ElixirClientCodegen extends DefaultCodegen implements CodegenConfig
             this.title = cm.title;
             this.description = cm.description;
             this.classVarName = cm.classVarName;
-            this.modelJson = cm.modelJson;
+            this.modelJson = cm.getModelJson();
             this.dataType = cm.dataType;
             this.xmlPrefix = cm.xmlPrefix;
             this.xmlNamespace = cm.xmlNamespace;
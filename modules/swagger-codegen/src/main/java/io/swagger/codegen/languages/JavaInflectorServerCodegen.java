@@ -41,8 +41,8 @@ public class JavaInflectorServerCodegen extends AbstractJavaCodegen {
         apiDocTemplateFiles.remove("api_doc.mustache");
 
 
-        apiPackage = System.getProperty("swagger.codegen.inflector.apipackage", "io.swagger.controllers");
-        modelPackage = System.getProperty("swagger.codegen.inflector.modelpackage", "io.swagger.model");
+        apiPackage = "io.swagger.controllers";
+        modelPackage = "io.swagger.model";
 
         additionalProperties.put("title", title);
         // java inflector uses the jackson lib
@@ -66,6 +66,12 @@ public class JavaInflectorServerCodegen extends AbstractJavaCodegen {
 
     @Override
     public void processOpts() {
+        if (getGeneratorProperty("swagger.codegen.inflector.apipackage") != null) {
+            apiPackage = getGeneratorProperty("swagger.codegen.inflector.apipackage");
+        }
+        if (getGeneratorProperty("swagger.codegen.inflector.modelpackage") != null) {
+            modelPackage = getGeneratorProperty("swagger.codegen.inflector.modelpackage");
+        }
         super.processOpts();
 
         writeOptional(outputFolder, new SupportingFile("pom.mustache", "", "pom.xml"));
@@ -37,8 +37,8 @@ public class UndertowCodegen extends AbstractJavaCodegen {
         apiDocTemplateFiles.remove("api_doc.mustache");
 
 
-        apiPackage = System.getProperty("swagger.codegen.undertow.apipackage", "io.swagger.handler");
-        modelPackage = System.getProperty("swagger.codegen.undertow.modelpackage", "io.swagger.model");
+        apiPackage = "io.swagger.handler";
+        modelPackage = "io.swagger.model";
 
         additionalProperties.put("title", title);
     }
@@ -60,6 +60,12 @@ public class UndertowCodegen extends AbstractJavaCodegen {
 
     @Override
     public void processOpts() {
+        if (getGeneratorProperty("swagger.codegen.undertow.apipackage") != null) {
+            apiPackage = getGeneratorProperty("swagger.codegen.undertow.apipackage");
+        }
+        if (getGeneratorProperty("swagger.codegen.undertow.modelpackage") != null) {
+            modelPackage = getGeneratorProperty("swagger.codegen.undertow.modelpackage");
+        }
         super.processOpts();
 
         apiTemplateFiles.remove("api.mustache");
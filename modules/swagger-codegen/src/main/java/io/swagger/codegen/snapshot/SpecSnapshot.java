@@ -0,0 +1,178 @@
+package io.swagger.codegen.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A snapshot of a parsed spec, so later generations of the unchanged spec don't parse it again. The inline
+ * models of the spec aren't resolved yet, as codegens preprocess the spec before its inline models are resolved.
+ *
+ * The snapshot file starts with a binary header holding the format version and the hash of the spec,
+ * followed by the spec as compressed JSON. The hash covers the spec file and all local files it
+ * references, so changing any of them invalidates the snapshot. Specs read from a URL or referencing
+ * remote files aren't snapshotted, as they can't be hashed without fetching them.
+ */
+public class SpecSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecSnapshot.class);
+
+    /** The default directory of the snapshots, relative to the output directory. */
+    public static final String SNAPSHOT_DIRECTORY = ".swagger-codegen" + File.separator + "snapshots";
+
+    private static final int MAGIC = 0x53574753;
+    // 2: the spec is no longer flattened
+    private static final int FORMAT_VERSION = 2;
+    // the file part of $ref values, e.g. definitions.yaml of "$ref: 'definitions.yaml#/Pet'"
+    private static final Pattern REF = Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?([^\"'#\\s,}]*)");
+
+    private final File file;
+
+    /**
+     * @param directory the directory of the snapshots, which can be shared by several specs
+     * @param inputSpec the location of the spec
+     */
+    public SpecSnapshot(File directory, String inputSpec) {
+        String name = Hashing.sha256().hashString(toFile(inputSpec).getAbsolutePath(), StandardCharsets.UTF_8)
+                .toString().substring(0, 16);
+        this.file = new File(directory, name + ".snapshot");
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Hash the content of a spec and of the local files it references.
+     *
+     * @param inputSpec the location of the spec
+     * @return the hash, or null if the spec can't be snapshotted
+     */
+    public static String hashSpec(String inputSpec) {
+        String lowerCaseSpec = inputSpec.toLowerCase();
+        if (lowerCaseSpec.startsWith("http:") || lowerCaseSpec.startsWith("https:")) {
+            return null;
+        }
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putInt(FORMAT_VERSION)
+                .putString(ImplementationVersion.read(), StandardCharsets.UTF_8);
+        Set<File> files = new LinkedHashSet<File>();
+        Deque<File> pending = new ArrayDeque<File>();
+        pending.add(toFile(inputSpec).getAbsoluteFile());
+        while (!pending.isEmpty()) {
+            File file = pending.poll();
+            if (!files.add(file)) {
+                continue;
+            }
+            if (!file.isFile()) {
+                return null;
+            }
+            byte[] contents;
+            try {
+                contents = FileUtils.readFileToByteArray(file);
+            } catch (IOException e) {
+                return null;
+            }
+            hasher.putString(file.getPath(), StandardCharsets.UTF_8).putInt(contents.length).putBytes(contents);
+
+            Matcher matcher = REF.matcher(new String(contents, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                String ref = matcher.group(1);
+                if (ref.isEmpty()) {
+                    continue;
+                }
+                if (ref.contains(":") && !ref.toLowerCase().startsWith("file:")) {
+                    // a remote reference
+                    return null;
+                }
+                File refFile = ref.toLowerCase().startsWith("file:") ? new File(URI.create(ref)) : new File(ref);
+                pending.add(refFile.isAbsolute() ? refFile : new File(file.getParentFile(), ref).getAbsoluteFile());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * @param specHash the current hash of the spec
+     * @return the spec of the snapshot, or null if there is no snapshot of this version of the spec
+     */
+    public Swagger read(String specHash) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !specHash.equals(in.readUTF())) {
+                return null;
+            }
+            JsonNode spec = Json.mapper().readTree(new GZIPInputStream(in));
+            return new SwaggerParser().read(spec, false);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring the unreadable snapshot " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Replace the snapshot. Failures are logged, as a missing snapshot only costs time.
+     *
+     * @param specHash the hash of the spec
+     * @param swagger the parsed spec
+     */
+    public void write(String specHash, Swagger swagger) {
+        File directory = file.getAbsoluteFile().getParentFile();
+        File temp = new File(directory, "." + file.getName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+        try {
+            directory.mkdirs();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(specHash);
+                GZIPOutputStream compressed = new GZIPOutputStream(out);
+                compressed.write(Json.mapper().writeValueAsBytes(swagger));
+                compressed.finish();
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write the snapshot " + file, e);
+        } finally {
+            temp.delete();
+        }
+    }
+
+    private static File toFile(String inputSpec) {
+        return inputSpec.toLowerCase().startsWith("file:") ? new File(URI.create(inputSpec)) : new File(inputSpec);
+    }
+}
@@ -0,0 +1,111 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class BatchGeneratorTest {
+
+    private static final String SPEC = "src/test/resources/2_0/petstore.yaml";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testTargetsMatchSeparateGenerations() throws Exception {
+        final File batchJava = folder.newFolder("batch-java");
+        final File batchPython = folder.newFolder("batch-python");
+        final File java = folder.newFolder("java");
+
+        final Swagger swagger = new SwaggerParser().read(SPEC);
+        List<List<File>> files = new BatchGenerator(swagger).threads(2).generate(Arrays.asList(
+                target("java", batchJava), target("python", batchPython)));
+        assertEquals(files.size(), 2);
+        assertTrue(files.get(1).contains(new File(batchPython, "petstore_api/models/pet.py")));
+
+        new DefaultGenerator().opts(target("java", java).toClientOptInput()).generate();
+
+        assertEquals(relativePaths(batchJava), relativePaths(java));
+        String model = "src/main/java/io/swagger/client/model/Pet.java";
+        assertEquals(withoutDate(new File(batchJava, model)), withoutDate(new File(java, model)));
+    }
+
+    @Test
+    public void testInlineModelsAreResolvedAfterPreprocessing() throws Exception {
+        // the gatling codegen preprocesses body parameters differently before and after flattening
+        final String spec = "src/test/resources/2_0/inlineModelsTest.yaml";
+        final File batch = folder.newFolder("batch");
+        final File single = folder.newFolder("single");
+
+        final Swagger swagger = new SwaggerParser().read(spec);
+        new BatchGenerator(swagger).generate(Arrays.asList(target("scala-gatling", batch).setInputSpec(spec)));
+        new DefaultGenerator().opts(target("scala-gatling", single).setInputSpec(spec).toClientOptInput()).generate();
+
+        final Set<String> paths = relativePaths(single);
+        assertEquals(relativePaths(batch), paths);
+        for (String path : paths) {
+            assertEquals(withoutDate(new File(batch, path)), withoutDate(new File(single, path)), path);
+        }
+    }
+
+    @Test
+    public void testFailedTargetDoesNotStopOthers() throws Exception {
+        final File java = folder.newFolder("java");
+
+        final Swagger swagger = new SwaggerParser().read(SPEC);
+        try {
+            new BatchGenerator(swagger).generate(Arrays.asList(
+                    target("does-not-exist", folder.newFolder("other")), target("java", java)));
+            fail("the unknown language should fail");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("does-not-exist"));
+        }
+        assertTrue(new File(java, "src/main/java/io/swagger/client/model/Pet.java").exists());
+    }
+
+    private static CodegenConfigurator target(String lang, File output) {
+        return new CodegenConfigurator()
+                .setLang(lang)
+                .setInputSpec(SPEC)
+                .setOutputDir(output.getAbsolutePath())
+                .addAdditionalProperty("packageName", "petstore_api");
+    }
+
+    private static String withoutDate(File file) throws IOException {
+        return FileUtils.readFileToString(file, StandardCharsets.UTF_8).replaceAll("date = \"[^\"]*\"", "");
+    }
+
+    private static Set<String> relativePaths(File directory) {
+        Set<String> paths = new TreeSet<String>();
+        for (File file : FileUtils.listFiles(directory, null, true)) {
+            paths.add(directory.toURI().relativize(file.toURI()).getPath());
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,60 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.languages.SpringCodegen;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ServiceLoader;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class CodegenConfigRegistryTest {
+
+    @Test(description = "the registry holds every config registered with SPI")
+    public void namesTest() {
+        final CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance();
+        int count = 0;
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            assertTrue(registry.contains(config.getName()), config.getName());
+            count++;
+        }
+        assertEquals(registry.getNames().size(), count);
+        assertTrue(registry.getNames(CodegenType.CLIENT).contains("java"));
+        assertFalse(registry.getNames(CodegenType.CLIENT).contains("spring"));
+        assertTrue(registry.getNames(CodegenType.SERVER).contains("spring"));
+        assertSame(CodegenConfigRegistry.getInstance(), registry);
+    }
+
+    @Test(description = "every lookup creates a new instance of the config")
+    public void newInstanceTest() {
+        final CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance();
+        final CodegenConfig java = registry.newInstance("java");
+
+        assertEquals(java.getClass(), JavaClientCodegen.class);
+        assertNotSame(registry.newInstance("java"), java);
+        assertEquals(registry.newInstance("spring").getClass(), SpringCodegen.class);
+        assertNull(registry.newInstance("unknown"));
+    }
+
+    @Test(description = "the registry of another class loader is not kept")
+    public void otherClassLoaderTest() {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(new URLClassLoader(new URL[0], CodegenConfig.class.getClassLoader()));
+        try {
+            final CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance();
+            assertTrue(registry.contains("java"));
+            assertNotSame(CodegenConfigRegistry.getInstance(), registry);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+        assertSame(CodegenConfigRegistry.getInstance(), CodegenConfigRegistry.getInstance());
+    }
+}
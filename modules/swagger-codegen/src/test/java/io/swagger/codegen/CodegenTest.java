@@ -11,6 +11,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class CodegenTest {
 
@@ -56,6 +59,116 @@ public class CodegenTest {
         Assert.assertEquals(codegen.camelize("foo-bar-xyzzy"), "FooBarXyzzy");
     }
 
+    @Test(description = "test sanitizeName")
+    public void sanitizeNameTest() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+
+        Assert.assertEquals(codegen.sanitizeName(null), "ERROR_UNKNOWN");
+        Assert.assertEquals(codegen.sanitizeName("$"), "value");
+        Assert.assertEquals(codegen.sanitizeName("input[]"), "input");
+        Assert.assertEquals(codegen.sanitizeName("input[a][b]"), "input_a_b");
+        Assert.assertEquals(codegen.sanitizeName("input(a)(b)"), "input_a_b");
+        Assert.assertEquals(codegen.sanitizeName("input.name-and age"), "input_name_and_age");
+        Assert.assertEquals(codegen.sanitizeName("$php_variable"), "php_variable");
+        Assert.assertEquals(codegen.sanitizeName("f\u00fc\u00df"), "f");
+
+        codegen.setAllowUnicodeIdentifiers(true);
+        Assert.assertEquals(codegen.sanitizeName("f\u00fc\u00df!"), "f\u00fc\u00df");
+        Assert.assertEquals(codegen.sanitizeName("\u00a9f\u00fc\u00df"), "f\u00fc\u00df");
+    }
+
+    @Test(description = "camelize, underscore and sanitizeName give the same results as the former regular expressions")
+    public void namingMatchesRegularExpressionsTest() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final DefaultCodegen unicodeCodegen = new DefaultCodegen();
+        unicodeCodegen.setAllowUnicodeIdentifiers(true);
+
+        // backslashes and line breaks are left out, the regular expressions handled them inconsistently
+        final String characters = "aBzZ09_-./$ []()#:;i\u00df\u00e9\u00c4\u0130\u0301\u00a0";
+        final Random random = new Random(42);
+        for (int n = 0; n < 20000; n++) {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = random.nextInt(10); i > 0; i--) {
+                sb.append(characters.charAt(random.nextInt(characters.length())));
+            }
+            final String word = sb.toString();
+
+            for (boolean lowercaseFirstLetter : new boolean[]{false, true}) {
+                final String expected;
+                try {
+                    expected = regexCamelize(word, lowercaseFirstLetter);
+                } catch (RuntimeException e) {
+                    // e.g. "-$" was taken for a group reference
+                    continue;
+                }
+                Assert.assertEquals(DefaultCodegen.camelize(word, lowercaseFirstLetter), expected, word);
+            }
+            Assert.assertEquals(DefaultCodegen.underscore(word), regexUnderscore(word), word);
+            Assert.assertEquals(codegen.sanitizeName(word), regexSanitizeName(word, false), word);
+            Assert.assertEquals(unicodeCodegen.sanitizeName(word), regexSanitizeName(word, true), word);
+        }
+    }
+
+    private static String regexCamelize(String word, boolean lowercaseFirstLetter) {
+        Pattern p = Pattern.compile("\\/(.?)");
+        Matcher m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("." + m.group(1));
+            m = p.matcher(word);
+        }
+        StringBuilder f = new StringBuilder();
+        for (String z : word.split("\\.")) {
+            if (z.length() > 0) {
+                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+            }
+        }
+        word = f.toString();
+        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+        m = p.matcher(word);
+        if (m.find()) {
+            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
+            rep = rep.replaceAll("\\$", "\\\\\\$");
+            word = m.replaceAll(rep);
+        }
+        p = Pattern.compile("(_)(.)");
+        m = p.matcher(word);
+        while (m.find()) {
+            String original = m.group(2);
+            String upperCase = original.toUpperCase();
+            word = original.equals(upperCase) ? word.replaceFirst("_", "") : m.replaceFirst(upperCase);
+            m = p.matcher(word);
+        }
+        p = Pattern.compile("(-)(.)");
+        m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst(m.group(2).toUpperCase());
+            m = p.matcher(word);
+        }
+        if (lowercaseFirstLetter && word.length() > 0) {
+            word = word.substring(0, 1).toLowerCase() + word.substring(1);
+        }
+        return word;
+    }
+
+    private static String regexUnderscore(String word) {
+        word = word.replaceAll("\\.", "/").replaceAll("\\$", "__");
+        word = word.replaceAll("([A-Z]+)([A-Z][a-z])", "$1_$2").replaceAll("([a-z\\d])([A-Z])", "$1_$2");
+        return word.replace('-', '_').replace(' ', '_').toLowerCase();
+    }
+
+    private static String regexSanitizeName(String name, boolean allowUnicodeIdentifiers) {
+        if ("$".equals(name)) {
+            return "value";
+        }
+        name = name.replaceAll("\\[\\]", "").replaceAll("\\[", "_").replaceAll("\\]", "");
+        name = name.replaceAll("\\(", "_").replaceAll("\\)", "");
+        name = name.replaceAll("\\.", "_").replaceAll("-", "_").replaceAll(" ", "_");
+        if (allowUnicodeIdentifiers) {
+            return Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+        }
+        return name.replaceAll("\\W", "");
+    }
+
     @Test(description = "read a file upload param from a 2.0 spec")
     public void fileUploadParamTest() {
         final Swagger model = parseAndPrepareSwagger("src/test/resources/2_0/petstore.json");
@@ -1,8 +1,19 @@
 package io.swagger.codegen;
 
+import com.samskivert.mustache.Mustache;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.util.Json;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class DefaultCodegenTest {
 
     @Test
@@ -33,4 +44,32 @@ public class DefaultCodegenTest {
         Assert.assertEquals(codegen.additionalProperties().get(CodegenConstants.HIDE_GENERATION_TIMESTAMP), Boolean.FALSE);
         Assert.assertEquals(codegen.isHideGenerationTimestamp(), false);
     }
+
+    @Test
+    public void testModelJsonIsSerializedOnAccess() throws Exception {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final ModelImpl model = new ModelImpl().property("name", new StringProperty());
+
+        final CodegenModel cm = codegen.fromModel("Sample", model);
+        Assert.assertNull(cm.modelJson);
+        Assert.assertEquals(Mustache.compiler().compile("{{{modelJson}}}").execute(cm), Json.pretty(model));
+        Assert.assertEquals(cm.getModelJson(), Json.pretty(model));
+    }
+
+    @Test
+    public void testDuplicateOperationIdsGetSuffixes() throws Exception {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final Map<String, List<CodegenOperation>> operations = new HashMap<String, List<CodegenOperation>>();
+        final List<String> operationIds = new ArrayList<String>();
+        for (String operationId : Arrays.asList("getPet", "getPet", "getPet_0", "listPets", "getPet", "getPet")) {
+            CodegenOperation co = new CodegenOperation();
+            co.operationId = operationId;
+            codegen.addOperationToGroup("pet", "/pet", new Operation(), co, operations);
+            operationIds.add(co.operationId);
+        }
+
+        Assert.assertEquals(operationIds, Arrays.asList("getPet", "getPet_0", "getPet_0_0", "listPets", "getPet_1", "getPet_2"));
+        Assert.assertEquals(operations.get("pet").get(2).operationIdCamelCase, "GetPet00");
+        Assert.assertEquals(operations.get("pet").get(5).baseName, "pet");
+    }
 }
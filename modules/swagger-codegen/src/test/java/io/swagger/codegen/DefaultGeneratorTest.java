@@ -1,13 +1,26 @@
 package io.swagger.codegen;
 
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.incremental.GenerationManifest;
+import io.swagger.codegen.instrumentation.Instrumentation;
+import io.swagger.codegen.instrumentation.Phase;
+import io.swagger.codegen.instrumentation.Profiler;
 import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.languages.SwaggerGenerator;
 import io.swagger.models.ExternalDocs;
+import io.swagger.models.Operation;
+import io.swagger.models.Response;
 import io.swagger.models.Swagger;
 import io.swagger.models.Tag;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.StringProperty;
 import io.swagger.parser.SwaggerParser;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.rules.TemporaryFolder;
+import org.testng.SkipException;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -16,7 +29,15 @@ import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static io.swagger.codegen.CodegenConstants.TEMPLATE_DIR;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -225,6 +246,487 @@ public class DefaultGeneratorTest {
 
     }
 
+    @Test
+    public void testParallelRenderingMatchesSequential() throws Exception {
+        final File sequentialOutput = folder.newFolder("sequential");
+        final File parallelOutput = folder.newFolder("parallel");
+
+        List<File> sequentialFiles = generatePetstore(sequentialOutput, 1);
+        List<File> parallelFiles = generatePetstore(parallelOutput, 4);
+
+        assertEquals(parallelFiles.size(), sequentialFiles.size());
+        for (int i = 0; i < sequentialFiles.size(); i++) {
+            String sequentialPath = sequentialOutput.toURI().relativize(sequentialFiles.get(i).toURI()).getPath();
+            String parallelPath = parallelOutput.toURI().relativize(parallelFiles.get(i).toURI()).getPath();
+            assertEquals(parallelPath, sequentialPath);
+            assertEquals(FileUtils.readFileToByteArray(parallelFiles.get(i)), FileUtils.readFileToByteArray(sequentialFiles.get(i)),
+                    "Content of " + parallelPath + " differs");
+        }
+    }
+
+    @Test
+    public void testTemplateCacheSharedBetweenRuns() throws Exception {
+        final File output = folder.getRoot();
+        final TemplateCache templateCache = new TemplateCache();
+
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setLibrary("jersey2");
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setTemplateCache(templateCache);
+        generator.opts(clientOptInput).generate();
+        final int compiled = templateCache.size();
+        assertTrue(compiled > 0);
+
+        generator = new DefaultGenerator();
+        generator.setTemplateCache(templateCache);
+        generator.opts(clientOptInput).generate();
+        assertEquals(templateCache.size(), compiled);
+
+        // overloaded templates are resolved to other files and must not be served from the cache
+        codegenConfig.additionalProperties().put(TEMPLATE_DIR, "src/test/resources/2_0/templates/Java");
+        generator = new DefaultGenerator();
+        generator.setTemplateCache(templateCache);
+        generator.opts(clientOptInput).generate();
+        assertTrue(containsOverloadedComments(new File(output, MODEL_ORDER_FILE), TEMPLATE_COMMENT));
+        assertTrue(containsOverloadedComments(new File(output, API_CLIENT_FILE), LIBRARY_COMMENT));
+    }
+
+    @Test
+    public void testStreamingWriteKeepsPreviousFileOnFailure() throws Exception {
+        final File output = new File(folder.getRoot(), "out.txt");
+        final DefaultGenerator generator = new DefaultGenerator();
+        final Template template = Mustache.compiler().compile("{{name}}{{#fail}}{{/fail}}");
+
+        Map<String, Object> context = new HashMap<String, Object>();
+        context.put("name", "first");
+        generator.writeToFile(output.getPath(), template, context);
+        assertEquals(FileUtils.readFileToString(output, UTF_8), "first");
+
+        context.put("name", "second");
+        context.put("fail", new Mustache.Lambda() {
+            @Override
+            public void execute(Template.Fragment frag, Writer out) throws IOException {
+                throw new IOException("failed rendering");
+            }
+        });
+        try {
+            generator.writeToFile(output.getPath(), template, context);
+            fail("Expected the rendering to fail");
+        } catch (Exception e) {
+            // the failure is propagated
+        }
+        assertEquals(FileUtils.readFileToString(output, UTF_8), "first");
+        assertEquals(folder.getRoot().list(), new String[]{"out.txt"});
+    }
+
+    @Test
+    public void testStreamingWriteKeepsPermissionsAndLinks() throws Exception {
+        final File script = new File(folder.getRoot(), "gradlew");
+        final File target = new File(folder.getRoot(), "target.txt");
+        final File link = new File(folder.getRoot(), "link.txt");
+        final DefaultGenerator generator = new DefaultGenerator();
+        final Template template = Mustache.compiler().compile("{{name}}");
+        Map<String, Object> context = new HashMap<String, Object>();
+        context.put("name", "second");
+
+        FileUtils.writeStringToFile(script, "first", UTF_8);
+        FileUtils.writeStringToFile(target, "first", UTF_8);
+        try {
+            Files.setPosixFilePermissions(script.toPath(), PosixFilePermissions.fromString("rwxr-x---"));
+            Files.createSymbolicLink(link.toPath(), target.toPath());
+        } catch (UnsupportedOperationException e) {
+            throw new SkipException("POSIX permissions and symbolic links are not supported");
+        }
+
+        generator.writeToFile(script.getPath(), template, context);
+        generator.writeToFile(link.getPath(), template, context);
+
+        assertEquals(FileUtils.readFileToString(script, UTF_8), "second");
+        assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(script.toPath())), "rwxr-x---");
+        assertTrue(Files.isSymbolicLink(link.toPath()));
+        assertEquals(FileUtils.readFileToString(target, UTF_8), "second");
+    }
+
+    @Test
+    public void testZipOutputSinkMatchesFiles() throws Exception {
+        final File fileOutput = folder.newFolder("files");
+        final File zipOutput = folder.newFolder("zip");
+
+        List<File> files = generatePetstore(fileOutput, 1);
+
+        File archive = folder.newFile("petstore.zip");
+        ZipOutputSink sink = new ZipOutputSink(archive, zipOutput, "petstore");
+        ClientOpts clientOpts = new ClientOpts();
+        clientOpts.setThreads(4);
+        try {
+            generatePetstore(zipOutput, clientOpts, sink);
+        } finally {
+            sink.close();
+        }
+        assertEquals(zipOutput.list().length, 0, "Nothing is written to the output directory");
+
+        Map<String, byte[]> entries = new HashMap<String, byte[]>();
+        ZipInputStream zip = new ZipInputStream(new FileInputStream(archive));
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            entries.put(entry.getName(), IOUtils.toByteArray(zip));
+        }
+        assertEquals(entries.size(), files.size());
+        for (File file : files) {
+            String name = "petstore/" + fileOutput.toURI().relativize(file.toURI()).getPath();
+            assertEquals(entries.get(name), FileUtils.readFileToByteArray(file), "Content of " + name + " differs");
+        }
+    }
+
+    @Test
+    public void testZipOutputSinkKeepsLastWrite() throws Exception {
+        final File output = folder.newFolder("output");
+        File archive = folder.newFile("output.zip");
+        ZipOutputSink sink = new ZipOutputSink(archive, output, "");
+        for (String name : Arrays.asList("README.md", "pom.xml", "README.md", "README.md")) {
+            OutputStream out = sink.open(new File(output, name));
+            out.write(("written before " + name).getBytes(UTF_8));
+            out.close();
+        }
+        sink.close();
+
+        Map<String, String> entries = new LinkedHashMap<String, String>();
+        ZipInputStream zip = new ZipInputStream(new FileInputStream(archive));
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            entries.put(entry.getName(), IOUtils.toString(zip, UTF_8));
+        }
+        zip.close();
+        assertEquals(new ArrayList<String>(entries.keySet()), Arrays.asList("README.md", "pom.xml"));
+        assertEquals(entries.get("README.md"), "written before README.md");
+        assertEquals(folder.getRoot().list().length, 2, "The rewritten entries are deleted");
+    }
+
+    @Test
+    public void testZipOutputSinkAddsFilesWrittenByTheGenerator() throws Exception {
+        final File output = folder.newFolder("output");
+        File archive = folder.newFile("output.zip");
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new SwaggerGenerator();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+
+        ZipOutputSink sink = new ZipOutputSink(archive, output, "swagger");
+        try {
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.setOutputSink(sink);
+            generator.opts(clientOptInput).generate();
+            sink.addFiles(output);
+        } finally {
+            sink.close();
+        }
+
+        Set<String> names = new HashSet<String>();
+        ZipInputStream zip = new ZipInputStream(new FileInputStream(archive));
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            names.add(entry.getName());
+        }
+        zip.close();
+        assertTrue(names.contains("swagger/swagger.json"), "The spec written by the generator is missing: " + names);
+        assertTrue(names.contains("swagger/README.md"), "The rendered files are missing: " + names);
+    }
+
+    @Test
+    public void testInstrumentationReceivesPhases() throws Exception {
+        final File output = folder.getRoot();
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        Instrumentation instrumentation = new Instrumentation() {
+            @Override
+            public Span start(final Phase phase, final String name) {
+                if (name != null) {
+                    return Span.NOOP;
+                }
+                events.add("start " + phase);
+                return new Span() {
+                    @Override
+                    public void close() {
+                        events.add("end " + phase);
+                    }
+                };
+            }
+        };
+
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setInstrumentation(instrumentation);
+        generator.opts(clientOptInput).generate();
+
+        assertEquals(events, Arrays.asList(
+                "start CONFIGURE", "end CONFIGURE",
+                "start FLATTEN", "end FLATTEN",
+                "start MODELS", "start POST_PROCESS_MODELS", "end POST_PROCESS_MODELS", "end MODELS",
+                "start APIS", "end APIS",
+                "start SUPPORTING_FILES", "end SUPPORTING_FILES"));
+    }
+
+    @Test
+    public void testProfilerRecordsPhases() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        Profiler profiler = new Profiler();
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setInstrumentation(profiler);
+        generator.opts(clientOptInput).generate();
+
+        Map<Phase, Profiler.PhaseStats> stats = new EnumMap<Phase, Profiler.PhaseStats>(Phase.class);
+        for (Profiler.PhaseStats phaseStats : profiler.getStats()) {
+            stats.put(phaseStats.getPhase(), phaseStats);
+        }
+        assertEquals(stats.keySet(), EnumSet.allOf(Phase.class));
+        assertEquals(stats.get(Phase.CONFIGURE).getCount(), 1);
+        assertEquals(stats.get(Phase.MODEL).getCount(), swagger.getDefinitions().size());
+        int operations = 0;
+        for (io.swagger.models.Path path : swagger.getPaths().values()) {
+            operations += path.getOperations().size();
+        }
+        assertTrue(stats.get(Phase.OPERATION).getCount() >= operations);
+        assertNotNull(stats.get(Phase.RENDER).getSlowest());
+        assertTrue(stats.get(Phase.MODELS).getWallNanos() >= stats.get(Phase.MODEL).getWallNanos());
+
+        String table = profiler.toTable();
+        assertTrue(table.contains("post_process_models"));
+        assertTrue(profiler.toJson().contains("\"phase\" : \"RENDER\""));
+    }
+
+    @Test
+    public void testOperationIsConvertedOncePerOperation() throws Exception {
+        Map<String, List<CodegenOperation>> paths = processMultiTagOperation(false);
+        assertEquals(operationConversions, 1);
+        CodegenOperation pet = paths.get("Pet").get(0);
+        CodegenOperation store = paths.get("Store").get(0);
+        assertNotSame(pet, store);
+        assertEquals(pet.operationId, store.operationId);
+        assertEquals(pet.tags.size(), 2);
+
+        // the operations of the tags are independent
+        assertNotSame(pet.allParams.get(0), store.allParams.get(0));
+        assertNotSame(pet.queryParams.get(0), store.queryParams.get(0));
+        pet.allParams.get(0).dataType = "Changed";
+        pet.vendorExtensions.put("x-changed", true);
+        pet.responses.get(0).message = "Changed";
+        assertEquals(store.allParams.get(0).dataType, "String");
+        assertFalse(store.vendorExtensions.containsKey("x-changed"));
+        assertEquals(store.responses.get(0).message, "successful operation");
+    }
+
+    @Test
+    public void testOperationIsConvertedPerTagIfRequested() throws Exception {
+        Map<String, List<CodegenOperation>> paths = processMultiTagOperation(true);
+        assertEquals(operationConversions, 2);
+        assertEquals(paths.get("Pet").size(), 1);
+        assertEquals(paths.get("Store").size(), 1);
+    }
+
+    private int operationConversions;
+
+    private Map<String, List<CodegenOperation>> processMultiTagOperation(boolean fromOperationPerTag) {
+        Operation operation = new Operation()
+                .operationId("findThings")
+                .tag("pet")
+                .tag("store")
+                .parameter(new QueryParameter().name("status").type("string"))
+                .response(200, new Response().description("successful operation"));
+        Swagger swagger = new Swagger().path("/things", new io.swagger.models.Path().get(operation));
+
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(folder.getRoot().getAbsolutePath());
+        codegenConfig.setFromOperationPerTag(fromOperationPerTag);
+        operationConversions = 0;
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setInstrumentation(new Instrumentation() {
+            @Override
+            public Span start(Phase phase, String name) {
+                if (phase == Phase.OPERATION) {
+                    operationConversions++;
+                }
+                return Span.NOOP;
+            }
+        });
+        generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig));
+        return generator.processPaths(swagger.getPaths());
+    }
+
+    @Test
+    public void testOperationImportsAreResolvedOnce() throws Exception {
+        final AtomicInteger modelImports = new AtomicInteger();
+        CodegenConfig codegenConfig = new JavaClientCodegen() {
+            @Override
+            public String toModelImport(String name) {
+                modelImports.incrementAndGet();
+                return super.toModelImport(name);
+            }
+        };
+        codegenConfig.importMapping().put("LocalDate", "org.threeten.bp.LocalDate");
+        codegenConfig.importMapping().put("ThreeTenDate", "org.threeten.bp.LocalDate");
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(new Swagger()).config(codegenConfig));
+
+        List<Map<String, Object>> imports = null;
+        for (String tag : Arrays.asList("pet", "store")) {
+            CodegenOperation co = new CodegenOperation();
+            co.operationId = "find";
+            co.nickname = "find";
+            co.imports.addAll(Arrays.asList("Pet", "LocalDate", "ThreeTenDate", "Category"));
+            imports = (List<Map<String, Object>>) generator.processOperations(codegenConfig, tag,
+                    new ArrayList<CodegenOperation>(Collections.singletonList(co)), new ArrayList<Object>()).get("imports");
+        }
+
+        List<Object> importNames = new ArrayList<Object>();
+        for (Map<String, Object> im : imports) {
+            importNames.add(im.get("import"));
+        }
+        assertEquals(importNames, Arrays.<Object>asList(codegenConfig.toModelImport("Category"),
+                "org.threeten.bp.LocalDate", codegenConfig.toModelImport("Pet")));
+        // Category and Pet of both tags, and the two calls of the assertion
+        assertEquals(modelImports.get(), 4);
+    }
+
+    @Test
+    public void testGeneratorPropertiesOnlyApplyToTheirRun() throws Exception {
+        final File modelsOutput = folder.newFolder("models");
+        final File apisOutput = folder.newFolder("apis");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<File>> models = executor.submit(generateWithProperty(modelsOutput, CodegenConstants.MODELS, "Pet"));
+            Future<List<File>> apis = executor.submit(generateWithProperty(apisOutput, CodegenConstants.APIS, "Store"));
+            models.get();
+            apis.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(new File(modelsOutput, "src/main/java/io/swagger/client/model/Pet.java").exists());
+        assertFalse(new File(modelsOutput, "src/main/java/io/swagger/client/model/Order.java").exists());
+        assertFalse(new File(modelsOutput, "src/main/java/io/swagger/client/api/StoreApi.java").exists());
+        assertTrue(new File(apisOutput, "src/main/java/io/swagger/client/api/StoreApi.java").exists());
+        assertFalse(new File(apisOutput, "src/main/java/io/swagger/client/api/PetApi.java").exists());
+        assertFalse(new File(apisOutput, "src/main/java/io/swagger/client/model/Pet.java").exists());
+        assertNull(System.getProperty(CodegenConstants.MODELS));
+        assertNull(System.getProperty(CodegenConstants.APIS));
+    }
+
+    private Callable<List<File>> generateWithProperty(final File output, final String key, final String value) {
+        return new Callable<List<File>>() {
+            @Override
+            public List<File> call() throws Exception {
+                final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+                CodegenConfig codegenConfig = new JavaClientCodegen();
+                codegenConfig.setOutputDir(output.getAbsolutePath());
+
+                ClientOpts clientOpts = new ClientOpts();
+                clientOpts.getGeneratorProperties().put(key, value);
+                ClientOptInput clientOptInput = new ClientOptInput().opts(clientOpts).swagger(swagger).config(codegenConfig);
+                return new DefaultGenerator().opts(clientOptInput).generate();
+            }
+        };
+    }
+
+    @Test
+    public void testIncrementalGenerationSkipsUnchangedFiles() throws Exception {
+        final File output = folder.getRoot();
+        final ClientOpts clientOpts = new ClientOpts();
+        clientOpts.setIncremental(true);
+
+        generatePetstore(output, clientOpts);
+        assertTrue(new File(output, GenerationManifest.MANIFEST_FILE).isFile());
+
+        final File order = new File(output, MODEL_ORDER_FILE);
+        final File pom = new File(output, POM_FILE);
+        final File apiClient = new File(output, API_CLIENT_FILE);
+        final String orderContent = FileUtils.readFileToString(order, UTF_8);
+        final long past = order.lastModified() - 60000;
+        order.setLastModified(past);
+        pom.setLastModified(past);
+        FileUtils.writeStringToFile(apiClient, "changed", UTF_8);
+
+        // files with the expected content are not written again, modified files are restored
+        generatePetstore(output, clientOpts);
+        assertEquals(order.lastModified(), past);
+        assertEquals(pom.lastModified(), past);
+        assertEquals(FileUtils.readFileToString(order, UTF_8), orderContent);
+        assertNotEquals(FileUtils.readFileToString(apiClient, UTF_8), "changed");
+    }
+
+    @Test
+    public void testIncrementalGenerationRendersAffectedFiles() throws Exception {
+        final File output = folder.getRoot();
+        final ClientOpts clientOpts = new ClientOpts();
+        clientOpts.setIncremental(true);
+        generatePetstore(output, clientOpts);
+
+        // Pet references Tag and the pet API references Pet
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        swagger.getDefinitions().get("Tag").getProperties().put("description", new StringProperty());
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put("hideGenerationTimestamp", true);
+        ClientOptInput clientOptInput = new ClientOptInput().opts(clientOpts).swagger(swagger).config(codegenConfig);
+
+        final Set<String> rendered = Collections.synchronizedSet(new HashSet<String>());
+        DefaultGenerator generator = new DefaultGenerator() {
+            @Override
+            public File writeToFile(String filename, String contents) throws IOException {
+                rendered.add(new File(filename).getName());
+                return super.writeToFile(filename, contents);
+            }
+
+            @Override
+            protected File writeToFile(String filename, Template template, Object context) throws IOException {
+                rendered.add(new File(filename).getName());
+                return super.writeToFile(filename, template, context);
+            }
+        };
+        generator.opts(clientOptInput).generate();
+
+        assertTrue(rendered.contains("Tag.java"));
+        assertTrue(rendered.contains("Pet.java"));
+        assertTrue(rendered.contains("PetApi.java"));
+        assertTrue(rendered.contains("Tag.md"));
+        assertTrue(rendered.contains("ApiClient.java"));
+        assertFalse(rendered.contains("Order.java"));
+        assertFalse(rendered.contains("Category.java"));
+        assertFalse(rendered.contains("StoreApi.java"));
+        assertFalse(rendered.contains("UserApi.md"));
+        assertTrue(containsOverloadedComments(new File(output, "/src/main/java/io/swagger/client/model/Tag.java"), "description"));
+    }
+
+    private List<File> generatePetstore(File output, int threads) {
+        ClientOpts clientOpts = new ClientOpts();
+        clientOpts.setThreads(threads);
+        return generatePetstore(output, clientOpts);
+    }
+
+    private List<File> generatePetstore(File output, ClientOpts clientOpts) {
+        return generatePetstore(output, clientOpts, null);
+    }
+
+    private List<File> generatePetstore(File output, ClientOpts clientOpts, OutputSink outputSink) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put("hideGenerationTimestamp", true);
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(clientOpts).swagger(swagger).config(codegenConfig);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setOutputSink(outputSink);
+        return generator.opts(clientOptInput).generate();
+    }
+
     private boolean containsOverloadedComments(File file, String ...search) throws IOException {
         for (String line : Files.readAllLines(file.toPath(), Charset.defaultCharset())) {
             if (StringUtils.containsAny(line, search)) {
@@ -1,19 +1,25 @@
 package io.swagger.codegen;
 
+import io.swagger.codegen.examples.ExampleCache;
 import io.swagger.codegen.examples.ExampleGenerator;
 import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
 import io.swagger.models.Xml;
 import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.LongProperty;
 import io.swagger.models.properties.RefProperty;
 import io.swagger.models.properties.StringProperty;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import org.apache.commons.lang3.StringUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -70,4 +76,39 @@ public class ExampleGeneratorTest {
         Assert.assertEqualsNoOrder(types.toArray(new String[types.size()]),
                 expectedTypes.toArray(new String[expectedTypes.size()]));
     }
+
+    @Test(description = "check that cached examples match freshly generated ones")
+    public void cachedExamplesTest() {
+        final List<String> mediaTypes = Arrays.asList("application/json", "application/xml");
+        final Map<String, Model> definitions = ImmutableMap.<String, Model>of(
+                "Owner", new ModelImpl().name("Owner").property("id", new LongProperty()).property("pet", new RefProperty("Pet")),
+                "Pet", new ModelImpl().name("Pet").property("weight", new DoubleProperty()).property("owner", new RefProperty("Owner")),
+                "Store", new ModelImpl().name("Store").property("pets", new ArrayProperty(new RefProperty("Pet"))));
+        final ExampleCache cache = new ExampleCache(definitions);
+
+        final List<Map<String, String>> owner = new ExampleGenerator(definitions, cache).generate(null, mediaTypes, "Owner");
+        final List<Map<String, String>> store = new ExampleGenerator(definitions, cache).generate(null, mediaTypes, "Store");
+        final List<Map<String, String>> pet = new ExampleGenerator(definitions, cache).generate(null, mediaTypes, new RefProperty("Pet"));
+
+        Assert.assertEquals(owner, new ExampleGenerator(definitions).generate(null, mediaTypes, "Owner"));
+        Assert.assertEquals(store, new ExampleGenerator(definitions).generate(null, mediaTypes, "Store"));
+        Assert.assertEquals(pet, new ExampleGenerator(definitions).generate(null, mediaTypes, new RefProperty("Pet")));
+        Assert.assertNotNull(cache.get("Pet", "application/json"));
+        Assert.assertNotNull(cache.get("Store", "application/xml"));
+        // the models of the spec aren't changed
+        Assert.assertNull(((ModelImpl) definitions.get("Pet")).getExample());
+    }
+
+    @Test(description = "check that deeply nested models are left out")
+    public void deeplyNestedModelsTest() {
+        final Map<String, Model> definitions = new HashMap<String, Model>();
+        for (int i = 0; i < 100; i++) {
+            definitions.put("Level" + i, new ModelImpl().name("Level" + i).property("next", new RefProperty("Level" + (i + 1))));
+        }
+        final String example = new ExampleGenerator(definitions)
+                .generate(null, Collections.singletonList("application/json"), "Level0").get(0).get("example");
+
+        // the 33rd model is left out, so the 32nd has no next
+        Assert.assertEquals(StringUtils.countMatches(example, "\"next\""), 31);
+    }
 }
@@ -1010,4 +1010,40 @@ public class InlineModelResolverTest {
                 .type("string"));
         new InlineModelResolver().flatten(swagger);
     }
+
+    @Test
+    public void testInlineResponseNamesAndDeduplication() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("inline_response_200_2", new ModelImpl()
+                .property("taken", new StringProperty()));
+
+        for (int i = 0; i < 5; i++) {
+            swagger.path("/distinct" + i, new Path()
+                    .get(new Operation()
+                            .response(200, new Response()
+                                    .schema(new ObjectProperty()
+                                            .property("distinct" + i, new StringProperty())))));
+        }
+        for (int i = 0; i < 3; i++) {
+            swagger.path("/same" + i, new Path()
+                    .get(new Operation()
+                            .response(200, new Response()
+                                    .schema(new ObjectProperty()
+                                            .property("same", new StringProperty())))));
+        }
+
+        new InlineModelResolver().flatten(swagger);
+
+        // five distinct models, one shared model and the definition which was taken already
+        assertEquals(7, swagger.getDefinitions().size());
+        for (String name : new String[]{"inline_response_200", "inline_response_200_1", "inline_response_200_3",
+                "inline_response_200_4", "inline_response_200_5", "inline_response_200_6"}) {
+            assertTrue(name, swagger.getDefinitions().containsKey(name));
+        }
+        String shared = ((RefProperty) swagger.getPaths().get("/same0").getGet().getResponses().get("200").getSchema()).getSimpleRef();
+        for (int i = 1; i < 3; i++) {
+            RefProperty ref = (RefProperty) swagger.getPaths().get("/same" + i).getGet().getResponses().get("200").getSchema();
+            assertEquals(shared, ref.getSimpleRef());
+        }
+    }
 }
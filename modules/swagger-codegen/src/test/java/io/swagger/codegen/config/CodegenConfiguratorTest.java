@@ -9,7 +9,6 @@ import io.swagger.codegen.languages.JavaClientCodegen;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.SwaggerParser;
-import mockit.Expectations;
 import mockit.FullVerifications;
 import mockit.Injectable;
 import mockit.Mocked;
@@ -24,6 +23,7 @@ import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings("static-method")
@@ -47,24 +47,19 @@ public class CodegenConfiguratorTest {
     @Tested
     CodegenConfigurator configurator;
 
-    @SuppressWarnings("unused")
     @Test
     public void testVerbose() throws Exception {
 
         configurator.setVerbose(true);
 
-        new StrictExpectations(System.class) {{
-            System.setProperty("debugSwagger", "");
-            times = 1;
-            System.setProperty("debugModels", "");
-            times = 1;
-            System.setProperty("debugOperations", "");
-            times = 1;
-            System.setProperty("debugSupportingFiles", "");
-            times = 1;
-        }};
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
 
-        setupAndRunGenericTest(configurator);
+        final Map<String, String> generatorProperties = clientOptInput.getOpts().getGeneratorProperties();
+        assertValueInMap(generatorProperties, "debugSwagger", "");
+        assertValueInMap(generatorProperties, "debugModels", "");
+        assertValueInMap(generatorProperties, "debugOperations", "");
+        assertValueInMap(generatorProperties, "debugSupportingFiles", "");
+        assertNull(System.getProperty("debugModels"));
     }
 
     @Test
@@ -78,21 +73,19 @@ public class CodegenConfiguratorTest {
         assertValueInMap(clientOptInput.getConfig().additionalProperties(), CodegenConstants.TEMPLATE_DIR, toAbsolutePathDir(templateDir));
     }
 
-    @SuppressWarnings("unused")
     @Test
     public void testSystemProperties() throws Exception {
 
         configurator.addSystemProperty("hello", "world")
                 .addSystemProperty("foo", "bar");
 
-        new Expectations(System.class) {{
-            System.setProperty("hello", "world");
-            times = 1;
-            System.setProperty("foo", "bar");
-            times = 1;
-        }};
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
 
-        setupAndRunGenericTest(configurator);
+        // system properties only apply to the generator run, not to the whole JVM
+        assertValueInMap(clientOptInput.getOpts().getGeneratorProperties(), "hello", "world");
+        assertValueInMap(clientOptInput.getOpts().getGeneratorProperties(), "foo", "bar");
+        assertNull(System.getProperty("hello"));
+        assertNull(System.getProperty("foo"));
     }
 
     @Test
@@ -129,6 +122,22 @@ public class CodegenConfiguratorTest {
         assertValueInMap(clientOptInput.getConfig().additionalProperties(), CodegenConstants.MODEL_PACKAGE, modelPackage);
     }
 
+    @Test
+    public void testThreads() throws Exception {
+        configurator.setThreads(4);
+
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
+        assertEquals(clientOptInput.getOpts().getThreads(), 4);
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        configurator.setIncremental(true);
+
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
+        assertTrue(clientOptInput.getOpts().isIncremental());
+    }
+
     @Test
     public void testInstantiationTypes() throws Exception {
 
@@ -0,0 +1,89 @@
+package io.swagger.codegen.ignore.rules;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class IgnoreMatcherTest {
+    private static final List<String> DEFINITIONS = Arrays.asList(
+            "build.sh",
+            "*.md",
+            "/pom.xml",
+            "/*.gradle",
+            "docs/",
+            "src/main/java/io/swagger/client/model/",
+            "**/test/",
+            "src/main/java/io/swagger/client/api/PetApi.java",
+            "**/*Test.java",
+            "src/**/auth/*.java",
+            "..",
+            "!docs/README.md",
+            "!src/main/java/io/swagger/client/model/keep/",
+            "!**/UserApiTest.java",
+            "!/pom.xml"
+    );
+
+    private static final List<String> PATHS = Arrays.asList(
+            "build.sh",
+            "nested/build.sh",
+            "README.md",
+            "docs/README.md",
+            "docs/PetApi.md",
+            "pom.xml",
+            "build.gradle",
+            "sub/build.gradle",
+            "src/main/java/io/swagger/client/model/Pet.java",
+            "src/main/java/io/swagger/client/model/keep/Kept.java",
+            "src/main/java/io/swagger/client/modelx/Pet.java",
+            "src/main/java/io/swagger/client/api/PetApi.java",
+            "src/main/java/io/swagger/client/api/StoreApi.java",
+            "src/test/java/io/swagger/client/api/PetApiTest.java",
+            "src/main/java/io/swagger/client/auth/OAuth.java",
+            "other/src/UserApiTest.java",
+            "other/src/UserApi.java"
+    );
+
+    @Test
+    public void testCompiledDecisionsMatchEvaluationInOrder() throws Exception {
+        // Arrange
+        // every prefix of the rules, so rules are also evaluated without the ones following them
+        for (int count = 0; count <= DEFINITIONS.size(); count++) {
+            List<Rule> exclusionRules = new ArrayList<>();
+            List<Rule> inclusionRules = new ArrayList<>();
+            for (String definition : DEFINITIONS.subList(0, count)) {
+                Rule rule = Rule.create(definition);
+                if (Boolean.TRUE.equals(rule.getNegated())) {
+                    inclusionRules.add(rule);
+                } else {
+                    exclusionRules.add(rule);
+                }
+            }
+            IgnoreMatcher matcher = new IgnoreMatcher(exclusionRules, inclusionRules);
+
+            for (String path : PATHS) {
+                // Act & Assert
+                assertEquals(matcher.allows(path), matcher.allowsInOrder(path), path + " with " + DEFINITIONS.subList(0, count));
+            }
+        }
+    }
+
+    @Test
+    public void testLiteralRules() throws Exception {
+        // Arrange
+        IgnoreMatcher matcher = new IgnoreMatcher(
+                Arrays.asList(Rule.create("docs/"), Rule.create("src/Pet.java")),
+                Arrays.asList(Rule.create("!docs/keep/")));
+
+        // Act & Assert
+        assertFalse(matcher.allows("docs/1/README.md"));
+        assertTrue(matcher.allows("docs/keep/README.md"));
+        assertTrue(matcher.allows("docsx/README.md"));
+        assertFalse(matcher.allows("src/Pet.java"));
+        assertTrue(matcher.allows("src/Pet.javax"));
+        assertTrue(matcher.allows("other/src/Pet.java"));
+    }
+}
@@ -0,0 +1,48 @@
+package io.swagger.codegen.nodejs;
+
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.config.CodegenConfigurator;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class NodeJSServerCodegenTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test(description = "the services are generated unless the noservice property of the run is set")
+    public void noserviceTest() throws Exception {
+        final File output = folder.newFolder("services");
+        final File noservice = folder.newFolder("noservice");
+
+        new DefaultGenerator().opts(configurator(output).toClientOptInput()).generate();
+        new DefaultGenerator().opts(configurator(noservice).addSystemProperty("noservice", "true").toClientOptInput()).generate();
+
+        assertTrue(new File(output, "service/PetService.js").exists());
+        assertTrue(new File(noservice, "controllers/Pet.js").exists());
+        assertFalse(new File(noservice, "service/PetService.js").exists());
+    }
+
+    private static CodegenConfigurator configurator(File output) {
+        return new CodegenConfigurator()
+                .setLang("nodejs-server")
+                .setInputSpec("src/test/resources/2_0/petstore.yaml")
+                .setOutputDir(output.getAbsolutePath());
+    }
+}
@@ -0,0 +1,175 @@
+package io.swagger.codegen.snapshot;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class SpecSnapshotTest {
+
+    private static final String SPEC = "swagger: '2.0'\n"
+            + "info:\n"
+            + "  title: Snapshot\n"
+            + "  version: 1.0.0\n"
+            + "paths:\n"
+            + "  /pets:\n"
+            + "    get:\n"
+            + "      responses:\n"
+            + "        200:\n"
+            + "          description: the pets\n"
+            + "          schema:\n"
+            + "            type: object\n"
+            + "            properties:\n"
+            + "              pet:\n"
+            + "                $ref: 'definitions.yaml#/Pet'\n";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File spec;
+    private File definitions;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+        spec = new File(folder.getRoot(), "spec.yaml");
+        definitions = new File(folder.getRoot(), "definitions.yaml");
+        FileUtils.writeStringToFile(spec, SPEC, StandardCharsets.UTF_8);
+        writeDefinitions("name");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testHashCoversReferencedFiles() throws Exception {
+        String hash = SpecSnapshot.hashSpec(spec.getPath());
+        assertNotNull(hash);
+        assertEquals(SpecSnapshot.hashSpec(spec.getAbsolutePath()), hash);
+
+        writeDefinitions("nickname");
+        assertNotEquals(SpecSnapshot.hashSpec(spec.getPath()), hash);
+    }
+
+    @Test
+    public void testRemoteSpecsAreNotSnapshotted() throws Exception {
+        assertNull(SpecSnapshot.hashSpec("http://petstore.swagger.io/v2/swagger.json"));
+
+        FileUtils.writeStringToFile(spec, SPEC.replace("definitions.yaml", "http://example.com/definitions.yaml"),
+                StandardCharsets.UTF_8);
+        assertNull(SpecSnapshot.hashSpec(spec.getPath()));
+    }
+
+    @Test
+    public void testReadWrittenSnapshot() throws Exception {
+        SpecSnapshot snapshot = new SpecSnapshot(folder.newFolder("snapshots"), spec.getPath());
+        Swagger swagger = new SwaggerParser().read(spec.getPath());
+        String hash = SpecSnapshot.hashSpec(spec.getPath());
+        snapshot.write(hash, swagger);
+
+        Swagger read = snapshot.read(hash);
+        assertNotNull(read);
+        assertEquals(read.getInfo().getTitle(), "Snapshot");
+        assertTrue(((ModelImpl) read.getDefinitions().get("Pet")).getProperties().containsKey("name"));
+        assertNull(snapshot.read("another hash"));
+
+        FileUtils.writeStringToFile(snapshot.getFile(), "not a snapshot", StandardCharsets.UTF_8);
+        assertNull(snapshot.read(hash));
+    }
+
+    @Test
+    public void testConfiguratorReadsSnapshot() throws Exception {
+        File output = folder.newFolder("output");
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setLang("java")
+                .setInputSpec(spec.getPath())
+                .setOutputDir(output.getAbsolutePath())
+                .setSnapshot(true);
+
+        ClientOptInput first = configurator.toClientOptInput();
+        File[] snapshots = new File(output, SpecSnapshot.SNAPSHOT_DIRECTORY).listFiles();
+        assertNotNull(snapshots);
+        assertEquals(snapshots.length, 1);
+
+        // the inline models are left to the generator
+        assertNull(first.getSwagger().getDefinitions().get("inline_response_200"));
+        // the snapshot is read, not written again
+        assertTrue(snapshots[0].setLastModified(1000L));
+        ClientOptInput second = configurator.toClientOptInput();
+        assertEquals(snapshots[0].lastModified(), 1000L);
+        assertEquals(second.getSwagger().getDefinitions().keySet(), first.getSwagger().getDefinitions().keySet());
+
+        writeDefinitions("nickname");
+        ClientOptInput changed = configurator.toClientOptInput();
+        assertTrue(((ModelImpl) changed.getSwagger().getDefinitions().get("Pet")).getProperties().containsKey("nickname"));
+        assertFalse(((ModelImpl) changed.getSwagger().getDefinitions().get("Pet")).getProperties().containsKey("name"));
+    }
+
+    @Test
+    public void testSnapshotsGenerateTheSameCode() throws Exception {
+        // the gatling codegen preprocesses body parameters differently before and after flattening
+        final String inlineSpec = "src/test/resources/2_0/inlineModelsTest.yaml";
+        final File parsed = folder.newFolder("parsed");
+        final File written = folder.newFolder("written");
+        final File read = folder.newFolder("read");
+        final File snapshots = folder.newFolder("snapshots");
+
+        new DefaultGenerator().opts(gatling(inlineSpec, parsed).toClientOptInput()).generate();
+        new DefaultGenerator().opts(gatling(inlineSpec, written).setSnapshot(true)
+                .setSnapshotDir(snapshots.getAbsolutePath()).toClientOptInput()).generate();
+        new DefaultGenerator().opts(gatling(inlineSpec, read).setSnapshot(true)
+                .setSnapshotDir(snapshots.getAbsolutePath()).toClientOptInput()).generate();
+
+        final Set<String> paths = relativePaths(parsed);
+        assertEquals(relativePaths(written), paths);
+        assertEquals(relativePaths(read), paths);
+        for (String path : paths) {
+            String content = FileUtils.readFileToString(new File(parsed, path), StandardCharsets.UTF_8);
+            assertEquals(FileUtils.readFileToString(new File(written, path), StandardCharsets.UTF_8), content, path);
+            assertEquals(FileUtils.readFileToString(new File(read, path), StandardCharsets.UTF_8), content, path);
+        }
+    }
+
+    private static CodegenConfigurator gatling(String inputSpec, File output) {
+        return new CodegenConfigurator()
+                .setLang("scala-gatling")
+                .setInputSpec(inputSpec)
+                .setOutputDir(output.getAbsolutePath());
+    }
+
+    private static Set<String> relativePaths(File directory) {
+        Set<String> paths = new TreeSet<String>();
+        for (File file : FileUtils.listFiles(directory, null, true)) {
+            paths.add(directory.toURI().relativize(file.toURI()).getPath());
+        }
+        return paths;
+    }
+
+    private void writeDefinitions(String property) throws Exception {
+        FileUtils.writeStringToFile(definitions, "Pet:\n"
+                + "  type: object\n"
+                + "  properties:\n"
+                + "    " + property + ":\n"
+                + "      type: string\n", StandardCharsets.UTF_8);
+    }
+}
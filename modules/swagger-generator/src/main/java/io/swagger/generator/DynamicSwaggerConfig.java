@@ -1,7 +1,6 @@
 package io.swagger.generator;
 
-import io.swagger.codegen.Codegen;
-import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigRegistry;
 import io.swagger.codegen.CodegenType;
 import io.swagger.jaxrs.config.BeanConfig;
 import io.swagger.models.Operation;
@@ -19,15 +18,10 @@ public class DynamicSwaggerConfig extends BeanConfig {
     static List<String> servers = new ArrayList<String>();
 
     static {
-        List<CodegenConfig> extensions = Codegen.getExtensions();
-        for (CodegenConfig config : extensions) {
-            if (config.getTag().equals(CodegenType.CLIENT)
-                    || config.getTag().equals(CodegenType.DOCUMENTATION)) {
-                clients.add(config.getName());
-            } else if (config.getTag().equals(CodegenType.SERVER)) {
-                servers.add(config.getName());
-            }
-        }
+        CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance();
+        clients.addAll(registry.getNames(CodegenType.CLIENT));
+        clients.addAll(registry.getNames(CodegenType.DOCUMENTATION));
+        servers.addAll(registry.getNames(CodegenType.SERVER));
         Collections.sort(clients, String.CASE_INSENSITIVE_ORDER);
         Collections.sort(servers, String.CASE_INSENSITIVE_ORDER);
     }
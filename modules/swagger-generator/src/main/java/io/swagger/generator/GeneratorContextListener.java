@@ -0,0 +1,30 @@
+package io.swagger.generator;
+
+import io.swagger.generator.resource.SwaggerResource;
+import io.swagger.generator.store.ArtifactStore;
+import org.apache.commons.io.IOUtils;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import java.io.Closeable;
+
+/**
+ * Stops the generation workers and deletes the stored bundles when the application is undeployed, so that
+ * queued jobs don't keep waiting requests and the temp directories of the bundles are removed.
+ */
+public class GeneratorContextListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        // the job manager and the artifact store are created with the first request
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        SwaggerResource.getJobManager().close();
+        ArtifactStore artifactStore = SwaggerResource.getArtifactStore();
+        if (artifactStore instanceof Closeable) {
+            IOUtils.closeQuietly((Closeable) artifactStore);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.swagger.generator.exception;
+
+public class ServiceUnavailableException extends ApiException {
+    private static final long serialVersionUID = -2791640215813370541L;
+
+    public static final int SC_SERVICE_UNAVAILABLE = 503;
+
+    public ServiceUnavailableException(String msg) {
+        super(SC_SERVICE_UNAVAILABLE, msg);
+    }
+}
@@ -0,0 +1,11 @@
+package io.swagger.generator.exception;
+
+public class TooManyRequestsException extends ApiException {
+    private static final long serialVersionUID = 4329876157291946120L;
+
+    public static final int SC_TOO_MANY_REQUESTS = 429;
+
+    public TooManyRequestsException(String msg) {
+        super(SC_TOO_MANY_REQUESTS, msg);
+    }
+}
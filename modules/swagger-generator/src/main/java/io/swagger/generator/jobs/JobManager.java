@@ -0,0 +1,317 @@
+package io.swagger.generator.jobs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.swagger.generator.exception.ApiException;
+import io.swagger.generator.exception.ServiceUnavailableException;
+import io.swagger.generator.exception.TooManyRequestsException;
+import io.swagger.generator.model.GenerationJob;
+import io.swagger.generator.model.ResponseCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs generation jobs on a bounded pool of worker threads.
+ *
+ * Jobs wait in a queue of limited size for a free worker. When the queue is full, or a language already has
+ * the maximum number of queued and running jobs, further jobs are rejected with a
+ * {@link TooManyRequestsException} instead of tying up more request threads. A synchronous run waits for its
+ * job for a limited time and fails with a {@link ServiceUnavailableException} after that. Finished jobs can be
+ * polled for the time to live.
+ */
+public class JobManager implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobManager.class);
+
+    public static final long DEFAULT_QUEUE_SIZE = 100;
+    public static final long DEFAULT_MAX_JOBS_PER_LANGUAGE = 20;
+    public static final long DEFAULT_TTL_MINUTES = 60;
+    public static final long DEFAULT_RUN_TIMEOUT_MINUTES = 10;
+    private static final long MAX_JOBS = 10000;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxJobsPerLanguage;
+    private final long runTimeoutMillis;
+    private final Cache<String, Job> jobs;
+    // queued and running jobs by language, languages without jobs are removed
+    private final Map<String, Integer> pendingJobs = new HashMap<String, Integer>();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * @param workers the number of worker threads
+     * @param queueSize the maximum number of jobs waiting for a worker
+     * @param maxJobsPerLanguage the maximum number of queued and running jobs of a language
+     * @param ttl the time a job can be polled
+     * @param unit the unit of the time to live
+     */
+    public JobManager(int workers, int queueSize, int maxJobsPerLanguage, long ttl, TimeUnit unit) {
+        this(workers, queueSize, maxJobsPerLanguage, ttl, unit, DEFAULT_RUN_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param workers the number of worker threads
+     * @param queueSize the maximum number of jobs waiting for a worker
+     * @param maxJobsPerLanguage the maximum number of queued and running jobs of a language
+     * @param ttl the time a job can be polled
+     * @param unit the unit of the time to live
+     * @param runTimeout the maximum time a synchronous run waits for its job
+     * @param runTimeoutUnit the unit of the run timeout
+     */
+    public JobManager(int workers, int queueSize, int maxJobsPerLanguage, long ttl, TimeUnit unit,
+                      long runTimeout, TimeUnit runTimeoutUnit) {
+        this.runTimeoutMillis = runTimeoutUnit.toMillis(runTimeout);
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(Math.max(1, queueSize)),
+                new ThreadFactoryBuilder().setNameFormat("generator-worker-%d").setDaemon(true).build());
+        this.maxJobsPerLanguage = maxJobsPerLanguage;
+        this.jobs = CacheBuilder.newBuilder()
+                .maximumSize(MAX_JOBS)
+                .expireAfterWrite(ttl, unit)
+                .build();
+    }
+
+    /**
+     * Create a job manager configured by the environment variables {@code GENERATOR_WORKERS} (default: the
+     * number of processors), {@code GENERATOR_QUEUE_SIZE}, {@code GENERATOR_MAX_JOBS_PER_LANGUAGE},
+     * {@code GENERATOR_JOB_TTL_MINUTES} and {@code GENERATOR_RUN_TIMEOUT_MINUTES}.
+     *
+     * @return the job manager
+     */
+    public static JobManager fromEnvironment() {
+        return new JobManager(
+                (int) getenv("GENERATOR_WORKERS", Runtime.getRuntime().availableProcessors()),
+                (int) getenv("GENERATOR_QUEUE_SIZE", DEFAULT_QUEUE_SIZE),
+                (int) getenv("GENERATOR_MAX_JOBS_PER_LANGUAGE", DEFAULT_MAX_JOBS_PER_LANGUAGE),
+                getenv("GENERATOR_JOB_TTL_MINUTES", DEFAULT_TTL_MINUTES), TimeUnit.MINUTES,
+                getenv("GENERATOR_RUN_TIMEOUT_MINUTES", DEFAULT_RUN_TIMEOUT_MINUTES), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Queue a job, which can be polled by its id.
+     *
+     * @param language the language or framework the job generates
+     * @param task the generation, returning the download code of the bundle
+     * @return the state of the queued job
+     * @throws TooManyRequestsException if the queue or the jobs of the language are at their limit
+     */
+    public GenerationJob submit(String language, Callable<ResponseCode> task) throws TooManyRequestsException {
+        Job job = new Job(language, task);
+        jobs.put(job.id, job);
+        try {
+            enqueue(job);
+        } catch (TooManyRequestsException e) {
+            jobs.invalidate(job.id);
+            throw e;
+        }
+        return job.toGenerationJob();
+    }
+
+    /**
+     * Run a job on a worker and wait for its result.
+     *
+     * @param language the language or framework the job generates
+     * @param task the generation, returning the download code of the bundle
+     * @return the result of the task
+     * @throws Exception the failure of the task, a {@link TooManyRequestsException} if the queue or the jobs
+     * of the language are at their limit, or a {@link ServiceUnavailableException} if the job didn't finish within
+     * the run timeout
+     */
+    public ResponseCode run(String language, Callable<ResponseCode> task) throws Exception {
+        Job job = new Job(language, task);
+        enqueue(job);
+        if (!job.done.await(runTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            ServiceUnavailableException timeout = new ServiceUnavailableException(
+                    "Generation of " + language + " timed out, try again later");
+            // a running job can't be stopped, it finishes without anyone waiting for it
+            if (executor.remove(job)) {
+                job.abandon(timeout);
+            }
+            throw timeout;
+        }
+        if (job.failure != null) {
+            throw job.failure;
+        }
+        return job.result;
+    }
+
+    /**
+     * @param id the job id
+     * @return the state of the job, or null if it is unknown or expired
+     */
+    public GenerationJob get(String id) {
+        Job job = jobs.getIfPresent(id);
+        return job != null ? job.toGenerationJob() : null;
+    }
+
+    /**
+     * Wait for a job to finish.
+     *
+     * @param id the job id
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return the state of the job when it finished or the timeout elapsed, or null if it is unknown or expired
+     */
+    public GenerationJob await(String id, long timeout, TimeUnit unit) {
+        Job job = jobs.getIfPresent(id);
+        if (job == null) {
+            return null;
+        }
+        try {
+            job.done.await(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return job.toGenerationJob();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getRunningCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Stop the workers. Queued jobs fail, so nobody waits for them.
+     */
+    @Override
+    public void close() {
+        for (Runnable queued : executor.shutdownNow()) {
+            ((Job) queued).abandon(new ServiceUnavailableException("The generator is shutting down"));
+        }
+    }
+
+    private void enqueue(Job job) throws TooManyRequestsException {
+        if (!acquire(job.language)) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Too many jobs for " + job.language + ", try again later");
+        }
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            release(job.language);
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Too many jobs, try again later");
+        }
+    }
+
+    private synchronized boolean acquire(String language) {
+        Integer pending = pendingJobs.get(language);
+        int count = pending != null ? pending : 0;
+        if (count >= maxJobsPerLanguage) {
+            return false;
+        }
+        pendingJobs.put(language, count + 1);
+        return true;
+    }
+
+    private synchronized void release(String language) {
+        int count = pendingJobs.get(language) - 1;
+        if (count == 0) {
+            pendingJobs.remove(language);
+        } else {
+            pendingJobs.put(language, count);
+        }
+    }
+
+    private class Job implements Runnable {
+        private final String id = UUID.randomUUID().toString();
+        private final String language;
+        private final Callable<ResponseCode> task;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile GenerationJob.Status status = GenerationJob.Status.QUEUED;
+        private volatile ResponseCode result;
+        private volatile Exception failure;
+
+        Job(String language, Callable<ResponseCode> task) {
+            this.language = language;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            status = GenerationJob.Status.RUNNING;
+            try {
+                result = task.call();
+                completed.incrementAndGet();
+                status = GenerationJob.Status.DONE;
+            } catch (Exception e) {
+                if (!(e instanceof ApiException)) {
+                    LOGGER.warn("Generation of " + language + " failed", e);
+                }
+                failure = e;
+                failed.incrementAndGet();
+                status = GenerationJob.Status.FAILED;
+            } finally {
+                release(language);
+                done.countDown();
+            }
+        }
+
+        /**
+         * Fail a job which never ran.
+         */
+        void abandon(Exception reason) {
+            failure = reason;
+            failed.incrementAndGet();
+            status = GenerationJob.Status.FAILED;
+            release(language);
+            done.countDown();
+        }
+
+        GenerationJob toGenerationJob() {
+            GenerationJob job = new GenerationJob();
+            job.setId(id);
+            // the status is written last by the worker, so the result is complete once it is done
+            job.setStatus(status);
+            if (job.getStatus() == GenerationJob.Status.DONE && result != null) {
+                job.setCode(result.getCode());
+                job.setLink(result.getLink());
+            } else if (job.getStatus() == GenerationJob.Status.FAILED) {
+                job.setMessage(failure instanceof ApiException ? failure.getMessage() : "Unable to build target");
+            }
+            return job;
+        }
+    }
+
+    private static long getenv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value " + value + " of " + name + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
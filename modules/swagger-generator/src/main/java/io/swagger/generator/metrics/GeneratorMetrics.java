@@ -0,0 +1,153 @@
+package io.swagger.generator.metrics;
+
+import io.swagger.codegen.CodegenConfigRegistry;
+import io.swagger.codegen.instrumentation.Instrumentation;
+import io.swagger.codegen.instrumentation.Phase;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the generation requests and records how long the phases of a generation take and how large
+ * the generated bundles are.
+ */
+public class GeneratorMetrics {
+
+    public static final String GENERATED = "generated";
+    public static final String CACHED = "cached";
+    public static final String FAILED = "failed";
+
+    /** Reading, fetching and resolving the spec. */
+    public static final String PARSE = "parse";
+    /** Compressing the generated files, which happens during the models, apis and supporting files phases. */
+    public static final String ZIP = "zip";
+    /** The whole request, including cached and failed requests. */
+    public static final String TOTAL = "total";
+
+    // unknown languages are counted together, so requests can't create any number of series
+    private static final String OTHER_LANGUAGE = "other";
+
+    private static final long MILLIS = 1000000L;
+    private static final long[] DURATION_BOUNDS = {
+            5 * MILLIS, 10 * MILLIS, 25 * MILLIS, 50 * MILLIS, 100 * MILLIS, 250 * MILLIS, 500 * MILLIS,
+            1000 * MILLIS, 2500 * MILLIS, 5000 * MILLIS, 10000 * MILLIS, 30000 * MILLIS, 60000 * MILLIS,
+            120000 * MILLIS};
+    private static final long[] SIZE_BOUNDS = {
+            1L << 10, 1L << 12, 1L << 14, 1L << 16, 1L << 18, 1L << 20, 1L << 22, 1L << 24, 1L << 26, 1L << 28};
+
+    private final ConcurrentMap<List<String>, AtomicLong> requests = new ConcurrentHashMap<List<String>, AtomicLong>();
+    private final ConcurrentMap<String, Histogram> phases = new ConcurrentHashMap<String, Histogram>();
+    private final Histogram bundleBytes = new Histogram(SIZE_BOUNDS);
+    private final Instrumentation instrumentation = new Instrumentation() {
+        @Override
+        public Span start(final Phase phase, String name) {
+            if (name != null) {
+                // only the phases of the whole run are recorded
+                return Span.NOOP;
+            }
+            final long start = System.nanoTime();
+            return new Span() {
+                @Override
+                public void close() {
+                    phase(phase.name().toLowerCase(Locale.ROOT), System.nanoTime() - start);
+                }
+            };
+        }
+    };
+
+    /**
+     * Count a generation request.
+     *
+     * @param language the requested language or framework
+     * @param type client or server
+     * @param outcome {@link #GENERATED}, {@link #CACHED} or {@link #FAILED}
+     */
+    public void request(String language, String type, String outcome) {
+        if (language == null || !CodegenConfigRegistry.getInstance().contains(language)) {
+            language = OTHER_LANGUAGE;
+        }
+        List<String> labels = Arrays.asList(language, type, outcome);
+        AtomicLong count = requests.get(labels);
+        if (count == null) {
+            AtomicLong created = new AtomicLong();
+            count = requests.putIfAbsent(labels, created);
+            if (count == null) {
+                count = created;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * Record the duration of a phase.
+     *
+     * @param phase the phase, e.g. {@link #PARSE} or a {@link Phase} in lower case
+     * @param nanos the duration in nanoseconds
+     */
+    public void phase(String phase, long nanos) {
+        Histogram histogram = phases.get(phase);
+        if (histogram == null) {
+            Histogram created = new Histogram(DURATION_BOUNDS);
+            histogram = phases.putIfAbsent(phase, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        histogram.observe(nanos);
+    }
+
+    /**
+     * Record the size of a generated bundle.
+     *
+     * @param bytes the size in bytes
+     */
+    public void bundle(long bytes) {
+        bundleBytes.observe(bytes);
+    }
+
+    /**
+     * @return the instrumentation recording the phases of a generator run
+     */
+    public Instrumentation instrumentation() {
+        return instrumentation;
+    }
+
+    public void write(TextFormat format) {
+        format.header("swagger_generator_requests_total", "counter",
+                "Generation requests by language, type and outcome (generated, cached or failed).");
+        for (Map.Entry<List<String>, AtomicLong> entry : sorted(requests).entrySet()) {
+            List<String> labels = entry.getKey();
+            format.sample("swagger_generator_requests_total", entry.getValue().get(),
+                    "language", labels.get(0), "type", labels.get(1), "outcome", labels.get(2));
+        }
+
+        format.header("swagger_generator_phase_seconds", "histogram",
+                "Duration of the phases of a generation. The zip phase overlaps the models, apis and "
+                        + "supporting_files phases, the post_process_models phase is part of the models phase, "
+                        + "the total phase covers the whole request.");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<String, Histogram>(phases).entrySet()) {
+            format.histogram("swagger_generator_phase_seconds", entry.getValue(), 1e9, "phase", entry.getKey());
+        }
+
+        format.header("swagger_generator_bundle_bytes", "histogram", "Size of the generated bundles.");
+        format.histogram("swagger_generator_bundle_bytes", bundleBytes, 1);
+    }
+
+    private static Map<List<String>, AtomicLong> sorted(Map<List<String>, AtomicLong> requests) {
+        Map<List<String>, AtomicLong> sorted = new TreeMap<List<String>, AtomicLong>(new Comparator<List<String>>() {
+            @Override
+            public int compare(List<String> a, List<String> b) {
+                return a.toString().compareTo(b.toString());
+            }
+        });
+        sorted.putAll(requests);
+        return sorted;
+    }
+}
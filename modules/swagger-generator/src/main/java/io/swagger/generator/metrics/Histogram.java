@@ -0,0 +1,49 @@
+package io.swagger.generator.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of observed values over fixed buckets, e.g. durations in nanoseconds or sizes in bytes.
+ */
+public class Histogram {
+
+    private final long[] bounds;
+    // the last bucket holds the values above all bounds
+    private final AtomicLongArray counts;
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * @param bounds the inclusive upper bounds of the buckets, in ascending order
+     */
+    public Histogram(long... bounds) {
+        this.bounds = bounds.clone();
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    public void observe(long value) {
+        int bucket = Arrays.binarySearch(bounds, value);
+        counts.incrementAndGet(bucket >= 0 ? bucket : -bucket - 1);
+        sum.addAndGet(value);
+    }
+
+    long[] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * @return the number of values in each bucket, the last bucket holds the values above all bounds
+     */
+    long[] getCounts() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    long getSum() {
+        return sum.get();
+    }
+}
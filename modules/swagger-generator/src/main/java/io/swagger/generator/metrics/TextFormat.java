@@ -0,0 +1,90 @@
+package io.swagger.generator.metrics;
+
+import java.util.Locale;
+
+/**
+ * Writes metrics in the Prometheus text exposition format.
+ */
+public class TextFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StringBuilder out = new StringBuilder();
+
+    /**
+     * @param name the metric name
+     * @param type counter, gauge or histogram
+     * @param help the description of the metric
+     * @return this
+     */
+    public TextFormat header(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n"))
+                .append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    /**
+     * @param name the sample name
+     * @param value the value
+     * @param labels alternating label names and values
+     * @return this
+     */
+    public TextFormat sample(String name, double value, String... labels) {
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i + 1 < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+        return this;
+    }
+
+    /**
+     * Write the buckets, sum and count of a histogram.
+     *
+     * @param name the metric name
+     * @param histogram the histogram
+     * @param divisor the number of observed units in the unit of the metric, e.g. 1e9 for nanoseconds in seconds
+     * @param labels alternating label names and values
+     * @return this
+     */
+    public TextFormat histogram(String name, Histogram histogram, double divisor, String... labels) {
+        long[] bounds = histogram.getBounds();
+        long[] counts = histogram.getCounts();
+        String[] bucketLabels = new String[labels.length + 2];
+        System.arraycopy(labels, 0, bucketLabels, 0, labels.length);
+        bucketLabels[labels.length] = "le";
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            bucketLabels[labels.length + 1] = i < bounds.length ? format(bounds[i] / divisor) : "+Inf";
+            sample(name + "_bucket", cumulative, bucketLabels);
+        }
+        sample(name + "_sum", histogram.getSum() / divisor, labels);
+        sample(name + "_count", cumulative, labels);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%s", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
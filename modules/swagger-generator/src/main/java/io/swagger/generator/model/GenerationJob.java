@@ -0,0 +1,63 @@
+package io.swagger.generator.model;
+
+import io.swagger.annotations.ApiModelProperty;
+
+public class GenerationJob {
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private String id;
+    private Status status;
+    private String message;
+    private String code;
+    private String link;
+
+    @ApiModelProperty(value = "Job id", example = "6c7d2f3a-8a1e-4c52-9f0e-1d2b3c4d5e6f")
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @ApiModelProperty(value = "Job status")
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    @ApiModelProperty(value = "Reason of the failure of the job")
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @ApiModelProperty(value = "File download code, once the job is done",
+            example = "d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    @ApiModelProperty(
+            value = "URL for fetching the generated client or server, once the job is done",
+            example = "http://generator.swagger.io:80/api/gen/download/d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getLink() {
+        return link;
+    }
+
+    public void setLink(String link) {
+        this.link = link;
+    }
+}
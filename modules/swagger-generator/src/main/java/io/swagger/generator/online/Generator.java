@@ -4,13 +4,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.codegen.*;
 import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.metrics.GeneratorMetrics;
 import io.swagger.generator.model.GeneratorInput;
 import io.swagger.generator.model.InputOption;
-import io.swagger.generator.util.ZipUtil;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +24,27 @@ import java.util.Map;
 public class Generator {
     static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
 
+    // compiled templates are shared by all requests, embedded templates never change at runtime
+    private static final TemplateCache TEMPLATE_CACHE = new TemplateCache();
+
+    private static final ResultCache RESULT_CACHE = ResultCache.fromEnvironment();
+
+    private static final SpecCache SPEC_CACHE = SpecCache.fromEnvironment();
+
+    private static final GeneratorMetrics METRICS = new GeneratorMetrics();
+
+    public static ResultCache getResultCache() {
+        return RESULT_CACHE;
+    }
+
+    public static SpecCache getSpecCache() {
+        return SPEC_CACHE;
+    }
+
+    public static GeneratorMetrics getMetrics() {
+        return METRICS;
+    }
+
     public static Map<String, CliOption> getOptions(String language) throws ApiException {
         CodegenConfig config = null;
         try {
@@ -62,6 +84,19 @@ public class Generator {
 
     private static String generate(String language, GeneratorInput opts, Type type)
             throws ApiException {
+        long start = System.nanoTime();
+        try {
+            return generateBundle(language, opts, type);
+        } catch (ApiException | RuntimeException e) {
+            METRICS.request(language, type.getTypeName(), GeneratorMetrics.FAILED);
+            throw e;
+        } finally {
+            METRICS.phase(GeneratorMetrics.TOTAL, System.nanoTime() - start);
+        }
+    }
+
+    private static String generateBundle(String language, GeneratorInput opts, Type type)
+            throws ApiException {
         LOGGER.debug(String.format("generate %s for %s", type.getTypeName(), language));
         if (opts == null) {
             throw new BadRequestException("No options were supplied");
@@ -71,6 +106,55 @@ public class Generator {
             LOGGER.debug("ignoring empty spec");
             node = null;
         }
+
+        String destPath = null;
+
+        if (opts != null && opts.getOptions() != null) {
+            destPath = opts.getOptions().get("outputFolder");
+        }
+        if (destPath == null) {
+            destPath = language + "-" + type.getTypeName();
+        }
+
+        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
+        String outputFilename = outputFolder + "-bundle.zip";
+
+        if (node == null && opts.getSwaggerUrl() != null && SPEC_CACHE.isEnabled()) {
+            // the cached spec has its references resolved already
+            long start = System.nanoTime();
+            JsonNode resolved = SPEC_CACHE.read(opts.getSwaggerUrl(), opts.getAuthorizationValue());
+            long readNanos = System.nanoTime() - start;
+            if (resolved == null) {
+                METRICS.phase(GeneratorMetrics.PARSE, readNanos);
+                throw new BadRequestException("The swagger specification supplied was not valid");
+            }
+            return generateBundle(language, opts, type, resolved, false, readNanos, outputFolder, outputFilename);
+        }
+        return generateBundle(language, opts, type, node, true, 0, outputFolder, outputFilename);
+    }
+
+    /**
+     * @param readNanos the time it took to read the spec before it is parsed
+     */
+    private static String generateBundle(String language, GeneratorInput opts, Type type, JsonNode node,
+                                         boolean resolve, long readNanos, String outputFolder,
+                                         String outputFilename) throws ApiException {
+        // a spec is looked up before it is parsed, a spec from a URL which is not cached once it has been fetched
+        // and a spec referencing other documents, which may have changed, once they have been resolved
+        String cacheKey = null;
+        if (node != null && RESULT_CACHE.isEnabled() && !(resolve && hasExternalReferences(node))) {
+            cacheKey = cacheKey(language, opts, type, node);
+            if (RESULT_CACHE.get(cacheKey, new File(outputFilename))) {
+                LOGGER.debug("serving cached bundle " + cacheKey);
+                METRICS.request(language, type.getTypeName(), GeneratorMetrics.CACHED);
+                if (readNanos > 0) {
+                    METRICS.phase(GeneratorMetrics.PARSE, readNanos);
+                }
+                return outputFilename;
+            }
+        }
+
+        long parseStart = System.nanoTime();
         Swagger swagger;
         if (node == null) {
             if (opts.getSwaggerUrl() != null) {
@@ -88,30 +172,28 @@ public class Generator {
             } else {
                 throw new BadRequestException("No swagger specification was supplied");
             }
-        } else if (opts.getAuthorizationValue() != null) {
+        } else if (opts.getAuthorizationValue() != null && resolve) {
             List<AuthorizationValue> authorizationValues = new ArrayList<AuthorizationValue>();
             authorizationValues.add(opts.getAuthorizationValue());
             swagger = new SwaggerParser().read(node, authorizationValues, true);
         } else {
-            swagger = new SwaggerParser().read(node, true);
+            swagger = new SwaggerParser().read(node, resolve);
         }
+        METRICS.phase(GeneratorMetrics.PARSE, readNanos + System.nanoTime() - parseStart);
         if (swagger == null) {
             throw new BadRequestException("The swagger specification supplied was not valid");
         }
-
-        String destPath = null;
-
-        if (opts != null && opts.getOptions() != null) {
-            destPath = opts.getOptions().get("outputFolder");
-        }
-        if (destPath == null) {
-            destPath = language + "-" + type.getTypeName();
+        if (cacheKey == null && RESULT_CACHE.isEnabled()) {
+            cacheKey = cacheKey(language, opts, type, Json.mapper().<JsonNode>valueToTree(swagger));
+            if (RESULT_CACHE.get(cacheKey, new File(outputFilename))) {
+                LOGGER.debug("serving cached bundle " + cacheKey);
+                METRICS.request(language, type.getTypeName(), GeneratorMetrics.CACHED);
+                return outputFilename;
+            }
         }
 
         ClientOptInput clientOptInput = new ClientOptInput();
         ClientOpts clientOpts = new ClientOpts();
-        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
-        String outputFilename = outputFolder + "-bundle.zip";
 
         clientOptInput.opts(clientOpts).swagger(swagger);
 
@@ -134,35 +216,64 @@ public class Generator {
         clientOptInput.setConfig(codegenConfig);
 
         try {
-            List<File> files = new Codegen().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<File>();
-                LOGGER.debug("adding to " + outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
+            Codegen codegen = new Codegen();
+            codegen.setTemplateCache(TEMPLATE_CACHE);
+            codegen.setInstrumentation(METRICS.instrumentation());
+            // the generated files are streamed straight into the archive
+            new File(outputFilename).getParentFile().mkdirs();
+            ZipOutputSink zip = new ZipOutputSink(new File(outputFilename), new File(outputFolder),
+                    new File(outputFolder).getName());
+            List<File> files;
+            try {
+                codegen.setOutputSink(zip);
+                files = codegen.opts(clientOptInput).generate();
+                // some generators write files on their own, such as the spec written by the swagger target
+                zip.addFiles(new File(outputFolder));
+            } finally {
+                zip.close();
+                METRICS.phase(GeneratorMetrics.ZIP, zip.getCompressionNanos());
+            }
+            if (files.isEmpty()) {
                 throw new BadRequestException(
                         "A target generation was attempted, but no files were created!");
             }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath());
-                }
-            }
-            try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder);
-            }
         } catch (Exception e) {
             throw new BadRequestException("Unable to build target: " + e.getMessage());
+        } finally {
+            // the files a generator wrote on its own are in the archive by now
+            FileUtils.deleteQuietly(new File(outputFolder));
+        }
+        METRICS.bundle(new File(outputFilename).length());
+        METRICS.request(language, type.getTypeName(), GeneratorMetrics.GENERATED);
+        if (cacheKey != null) {
+            RESULT_CACHE.put(cacheKey, new File(outputFilename));
         }
         return outputFilename;
     }
 
+    private static boolean hasExternalReferences(JsonNode node) {
+        JsonNode ref = node.get("$ref");
+        if (ref != null && ref.isTextual() && !ref.asText().startsWith("#")) {
+            return true;
+        }
+        for (JsonNode child : node) {
+            if (hasExternalReferences(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String cacheKey(String language, GeneratorInput opts, Type type, JsonNode spec) {
+        String authorization = null;
+        AuthorizationValue authorizationValue = opts.getAuthorizationValue();
+        if (authorizationValue != null) {
+            authorization = authorizationValue.getType() + ":" + authorizationValue.getKeyName() + ":"
+                    + authorizationValue.getValue();
+        }
+        return ResultCache.key(type.getTypeName(), language, opts.getOptions(), spec, authorization);
+    }
+
     public static InputOption clientOptions(@SuppressWarnings("unused") String language) {
         return null;
     }
@@ -0,0 +1,268 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.codegen.utils.ImplementationVersion;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content addressed cache of generated bundles.
+ *
+ * A bundle is cached under a hash of everything it is generated from: the spec, the target, the options
+ * and the generator version. Cached bundles are kept in a directory of their own and handed out as hard
+ * links (or copies where the file system doesn't support links), so every request still gets a file it
+ * can delete after the download. When the cached bundles exceed the size limit, the least recently used
+ * bundles are deleted.
+ */
+public class ResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    public static final long DEFAULT_MAX_MEGABYTES = 256;
+
+    private final File directory;
+    private final long maxBytes;
+    // sizes of the cached bundles in the order of their last use
+    private final LinkedHashMap<String, Long> bundles = new LinkedHashMap<String, Long>(16, 0.75f, true);
+    private long bytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param directory the directory of the cached bundles
+     * @param maxBytes the maximum total size of the cached bundles, 0 to disable the cache
+     */
+    public ResultCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Create a cache limited to {@code GENERATOR_RESULT_CACHE_MB} megabytes in a new directory within the
+     * temp directory or {@code GENERATOR_RESULT_CACHE_DIR} if set. The directory is deleted with its bundles
+     * when the JVM shuts down.
+     *
+     * @return the cache
+     */
+    public static ResultCache fromEnvironment() {
+        long maxMegabytes = DEFAULT_MAX_MEGABYTES;
+        String value = System.getenv("GENERATOR_RESULT_CACHE_MB");
+        if (value != null && !value.trim().isEmpty()) {
+            try {
+                maxMegabytes = Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid value " + value + " of GENERATOR_RESULT_CACHE_MB, using " + maxMegabytes);
+            }
+        }
+        File directory;
+        String path = System.getenv("GENERATOR_RESULT_CACHE_DIR");
+        try {
+            if (path != null && !path.trim().isEmpty()) {
+                File parent = new File(path.trim());
+                parent.mkdirs();
+                directory = Files.createTempDirectory(parent.toPath(), "swagger-generator-cache").toFile();
+            } else {
+                directory = Files.createTempDirectory("swagger-generator-cache").toFile();
+            }
+            deleteOnShutdown(directory);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to create the result cache directory, results are not cached", e);
+            return new ResultCache(new File("."), 0);
+        }
+        return new ResultCache(directory, maxMegabytes * 1024 * 1024);
+    }
+
+    /**
+     * @param type the type of the target, client or server
+     * @param language the name of the target
+     * @param options the generator options, including the library
+     * @param spec the spec or, if it was fetched from a URL, the parsed spec
+     * @param authorization the authorization used to resolve remote references, may be null
+     * @return the cache key of the bundle generated from the given inputs
+     */
+    public static String key(String type, String language, Map<String, String> options, JsonNode spec, String authorization) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, ImplementationVersion.read());
+        putString(hasher, type);
+        putString(hasher, language);
+        putString(hasher, authorization);
+        Map<String, String> sortedOptions = options != null
+                ? new TreeMap<String, String>(options) : Collections.<String, String>emptyMap();
+        hasher.putInt(sortedOptions.size());
+        for (Map.Entry<String, String> option : sortedOptions.entrySet()) {
+            putString(hasher, option.getKey());
+            putString(hasher, option.getValue());
+        }
+        putNode(hasher, spec);
+        return hasher.hash().toString();
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Provide the cached bundle with the given key at the given location.
+     *
+     * @param key the cache key
+     * @param target the file the bundle is linked or copied to
+     * @return true if the bundle was cached
+     */
+    public boolean get(String key, File target) {
+        boolean cached;
+        synchronized (this) {
+            cached = bundles.get(key) != null;
+        }
+        if (cached) {
+            try {
+                target.getParentFile().mkdirs();
+                link(file(key), target);
+                hits.incrementAndGet();
+                return true;
+            } catch (NoSuchFileException e) {
+                // evicted in the meantime
+            } catch (IOException e) {
+                LOGGER.warn("Unable to provide cached bundle " + file(key), e);
+            }
+        }
+        misses.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Cache a generated bundle, evicting the least recently used bundles if the cache exceeds its size limit.
+     *
+     * @param key the cache key
+     * @param bundle the generated bundle
+     */
+    public void put(String key, File bundle) {
+        long size = bundle.length();
+        if (!isEnabled() || size > maxBytes) {
+            return;
+        }
+        File cached = file(key);
+        try {
+            directory.mkdirs();
+            File temp = new File(directory, key + "." + Thread.currentThread().getId() + ".tmp");
+            link(bundle, temp);
+            Files.move(temp.toPath(), cached.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to cache bundle " + bundle, e);
+            return;
+        }
+
+        List<File> evicted = new ArrayList<File>();
+        synchronized (this) {
+            Long previous = bundles.put(key, size);
+            bytes += previous != null ? size - previous : size;
+            Iterator<Map.Entry<String, Long>> eldest = bundles.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                bytes -= entry.getValue();
+                evicted.add(file(entry.getKey()));
+                eldest.remove();
+            }
+        }
+        for (File file : evicted) {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    public synchronized int size() {
+        return bundles.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static void deleteOnShutdown(final File directory) {
+        // File.deleteOnExit() only deletes empty directories
+        Runtime.getRuntime().addShutdownHook(new Thread("swagger-generator-cache-cleanup") {
+            @Override
+            public void run() {
+                FileUtils.deleteQuietly(directory);
+            }
+        });
+    }
+
+    private File file(String key) {
+        return new File(directory, key + ".zip");
+    }
+
+    private static void link(File source, File target) throws IOException {
+        try {
+            Files.createLink(target.toPath(), source.toPath());
+        } catch (UnsupportedOperationException e) {
+            Files.copy(source.toPath(), target.toPath());
+        } catch (IOException e) {
+            if (!source.exists()) {
+                throw e;
+            }
+            // e.g. another file system
+            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            hasher.putInt(bytes.length).putBytes(bytes);
+        }
+    }
+
+    // fields are hashed in document order, the order of the fields ends up in the generated code
+    private static void putNode(Hasher hasher, JsonNode node) {
+        if (node == null) {
+            hasher.putByte((byte) 0);
+        } else if (node.isObject()) {
+            hasher.putByte((byte) 1);
+            hasher.putInt(node.size());
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                putString(hasher, field.getKey());
+                putNode(hasher, field.getValue());
+            }
+        } else if (node.isArray()) {
+            hasher.putByte((byte) 2);
+            hasher.putInt(node.size());
+            for (JsonNode element : node) {
+                putNode(hasher, element);
+            }
+        } else {
+            hasher.putByte((byte) 3);
+            putString(hasher, node.toString());
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.DeserializationUtils;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of specs read from a URL, with all references resolved.
+ *
+ * A cached spec is revalidated on every read: specs served over HTTP with a conditional request based on
+ * their {@code ETag} and {@code Last-Modified} headers, local files by their modification time and size.
+ * The documents a spec references, directly or through other documents, are revalidated with it. A changed
+ * spec is parsed from the response of the revalidation, so it is fetched once. Specs which can't be
+ * revalidated, e.g. served without either header or referencing such a document, are not cached. The cache
+ * holds a snapshot of every spec as a JSON tree and hands out copies of it, so a hit neither fetches nor
+ * resolves anything.
+ */
+public class SpecCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecCache.class);
+
+    public static final long DEFAULT_MAX_SPECS = 100;
+    private static final int TIMEOUT_MILLIS = 10000;
+    // the document part of $ref values, e.g. definitions.yaml of "$ref: 'definitions.yaml#/Pet'"
+    private static final Pattern REF = Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?([^\"'#\\s,}]*)");
+
+    private final Cache<String, Entry> specs;
+    private final boolean enabled;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxSpecs the maximum number of cached specs, 0 to disable the cache
+     */
+    public SpecCache(long maxSpecs) {
+        this.specs = CacheBuilder.newBuilder().maximumSize(maxSpecs).build();
+        this.enabled = maxSpecs > 0;
+    }
+
+    /**
+     * Create a cache of at most {@code GENERATOR_SPEC_CACHE_SIZE} specs.
+     *
+     * @return the cache
+     */
+    public static SpecCache fromEnvironment() {
+        long maxSpecs = DEFAULT_MAX_SPECS;
+        String value = System.getenv("GENERATOR_SPEC_CACHE_SIZE");
+        if (value != null && !value.trim().isEmpty()) {
+            try {
+                maxSpecs = Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid value " + value + " of GENERATOR_SPEC_CACHE_SIZE, using " + maxSpecs);
+            }
+        }
+        return new SpecCache(maxSpecs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Read a spec, from the cache if it is unchanged.
+     *
+     * @param location the URL or path of the spec
+     * @param authorizationValue the authorization used to fetch the spec and its references, may be null
+     * @return a copy of the resolved spec, which can be parsed without resolving references, or null if
+     * the spec is not valid
+     */
+    public JsonNode read(String location, AuthorizationValue authorizationValue) {
+        String key = location;
+        if (authorizationValue != null) {
+            key += "\n" + authorizationValue.getType() + ":" + authorizationValue.getKeyName() + ":"
+                    + authorizationValue.getValue();
+        }
+        Entry entry = enabled ? specs.getIfPresent(key) : null;
+        Document document = enabled ? revalidate(location, authorizationValue, entry != null ? entry.version : null) : null;
+        Version version = document != null ? document.version : null;
+        if (entry != null && entry.version.equals(version)) {
+            if (isUnchanged(entry.references, authorizationValue)) {
+                hits.incrementAndGet();
+                return entry.spec.deepCopy();
+            }
+            // only a referenced document changed, the spec itself wasn't fetched
+            document = revalidate(location, authorizationValue, null);
+            version = document != null ? document.version : null;
+        }
+        misses.incrementAndGet();
+
+        // the references are revalidated before they are resolved, so a document changing in between is
+        // read again with the next request
+        Map<String, Version> references = null;
+        Swagger swagger = null;
+        if (document != null && document.content != null) {
+            swagger = parse(document.content, location);
+            if (swagger != null) {
+                if (version != null) {
+                    references = getReferences(location, document.content, authorizationValue);
+                }
+                swagger = new SwaggerResolver(swagger, toList(authorizationValue), location).resolve();
+            }
+        }
+        if (swagger == null) {
+            // an older version of the spec is converted when it is read, the documents it references aren't
+            // known, so it isn't cached
+            swagger = parse(location, authorizationValue);
+            references = null;
+        }
+        if (swagger == null) {
+            specs.invalidate(key);
+            return null;
+        }
+        JsonNode spec = Json.mapper().valueToTree(swagger);
+        if (version != null && references != null) {
+            specs.put(key, new Entry(version, references, spec));
+        } else {
+            specs.invalidate(key);
+        }
+        return spec.deepCopy();
+    }
+
+    public long size() {
+        return specs.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    // the current version of a document with its content unless it is the cached version, or null if the
+    // document can't be read
+    private static Document revalidate(String location, AuthorizationValue authorizationValue, Version cached) {
+        String lowerCaseLocation = location.toLowerCase();
+        if (!lowerCaseLocation.startsWith("http:") && !lowerCaseLocation.startsWith("https:")) {
+            File file;
+            try {
+                file = lowerCaseLocation.startsWith("file:") ? new File(URI.create(location)) : new File(location);
+            } catch (IllegalArgumentException e) {
+                // e.g. an opaque URI like file:petstore.json
+                return null;
+            }
+            if (!file.isFile()) {
+                return null;
+            }
+            Version version = new Version(null, file.lastModified() + "/" + file.length());
+            if (version.equals(cached)) {
+                return new Document(version, null);
+            }
+            try {
+                return new Document(version, FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                LOGGER.debug("Unable to read " + location, e);
+                return null;
+            }
+        }
+
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(withQuery(location, authorizationValue)).openConnection();
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            if (authorizationValue != null && "header".equals(authorizationValue.getType())) {
+                connection.setRequestProperty(authorizationValue.getKeyName(), authorizationValue.getValue());
+            }
+            if (cached != null && cached.etag != null) {
+                connection.setRequestProperty("If-None-Match", cached.etag);
+            }
+            if (cached != null && cached.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", cached.lastModified);
+            }
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                return new Document(cached, null);
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                return null;
+            }
+            String etag = connection.getHeaderField("ETag");
+            String lastModified = connection.getHeaderField("Last-Modified");
+            String content = IOUtils.toString(connection.getInputStream(), StandardCharsets.UTF_8);
+            return new Document(etag != null || lastModified != null ? new Version(etag, lastModified) : null, content);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to revalidate " + location, e);
+            return null;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static boolean isUnchanged(Map<String, Version> references, AuthorizationValue authorizationValue) {
+        for (Map.Entry<String, Version> reference : references.entrySet()) {
+            Document document = revalidate(reference.getKey(), authorizationValue, reference.getValue());
+            if (document == null || !reference.getValue().equals(document.version)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the current versions of the documents a spec references, directly or through other documents, or null
+    // if one of them can't be revalidated
+    private static Map<String, Version> getReferences(String location, String content,
+                                                      AuthorizationValue authorizationValue) {
+        Map<String, Version> references = new LinkedHashMap<String, Version>();
+        Map<String, String> contents = new HashMap<String, String>();
+        Deque<String> unscanned = new ArrayDeque<String>();
+        contents.put(location, content);
+        unscanned.add(location);
+        while (!unscanned.isEmpty()) {
+            String document = unscanned.remove();
+            Matcher matcher = REF.matcher(contents.remove(document));
+            while (matcher.find()) {
+                if (matcher.group(1).isEmpty()) {
+                    continue;
+                }
+                String reference = resolve(document, matcher.group(1));
+                if (reference == null) {
+                    return null;
+                }
+                if (reference.equals(location) || references.containsKey(reference)) {
+                    continue;
+                }
+                Document referenced = revalidate(reference, authorizationValue, null);
+                if (referenced == null || referenced.version == null) {
+                    return null;
+                }
+                references.put(reference, referenced.version);
+                contents.put(reference, referenced.content);
+                unscanned.add(reference);
+            }
+        }
+        return references;
+    }
+
+    // the location of a referenced document, relative to the document referencing it
+    private static String resolve(String location, String reference) {
+        try {
+            String lowerCaseLocation = location.toLowerCase();
+            URI base = lowerCaseLocation.startsWith("http:") || lowerCaseLocation.startsWith("https:")
+                    || lowerCaseLocation.startsWith("file:") ? new URI(location) : new File(location).toURI();
+            return base.resolve(new URI(reference)).toString();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // parses the content read by the revalidation without resolving its references, or returns null for an
+    // older version of the spec
+    private static Swagger parse(String content, String location) {
+        try {
+            JsonNode node = DeserializationUtils.deserializeIntoTree(content, location);
+            return node != null ? new SwaggerParser().read(node, false) : null;
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to parse " + location, e);
+            return null;
+        }
+    }
+
+    private static Swagger parse(String location, AuthorizationValue authorizationValue) {
+        if (authorizationValue == null) {
+            return new SwaggerParser().read(location);
+        }
+        return new SwaggerParser().read(location, toList(authorizationValue), true);
+    }
+
+    private static List<AuthorizationValue> toList(AuthorizationValue authorizationValue) {
+        List<AuthorizationValue> authorizationValues = new ArrayList<AuthorizationValue>();
+        if (authorizationValue != null) {
+            authorizationValues.add(authorizationValue);
+        }
+        return authorizationValues;
+    }
+
+    private static String withQuery(String location, AuthorizationValue authorizationValue)
+            throws UnsupportedEncodingException {
+        if (authorizationValue == null || !"query".equals(authorizationValue.getType())) {
+            return location;
+        }
+        return location + (location.contains("?") ? "&" : "?")
+                + URLEncoder.encode(authorizationValue.getKeyName(), "UTF-8") + "="
+                + URLEncoder.encode(authorizationValue.getValue(), "UTF-8");
+    }
+
+    private static class Version {
+        private final String etag;
+        private final String lastModified;
+
+        Version(String etag, String lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Version)) {
+                return false;
+            }
+            Version other = (Version) o;
+            return (etag == null ? other.etag == null : etag.equals(other.etag))
+                    && (lastModified == null ? other.lastModified == null : lastModified.equals(other.lastModified));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (etag != null ? etag.hashCode() : 0) + (lastModified != null ? lastModified.hashCode() : 0);
+        }
+    }
+
+    private static class Document {
+        // null if the spec can't be revalidated
+        private final Version version;
+        // null if the spec is unchanged
+        private final String content;
+
+        Document(Version version, String content) {
+            this.version = version;
+            this.content = content;
+        }
+    }
+
+    private static class Entry {
+        private final Version version;
+        // the versions of the referenced documents by their location
+        private final Map<String, Version> references;
+        private final JsonNode spec;
+
+        Entry(Version version, Map<String, Version> references, JsonNode spec) {
+            this.version = version;
+            this.references = references;
+            this.spec = spec;
+        }
+    }
+}
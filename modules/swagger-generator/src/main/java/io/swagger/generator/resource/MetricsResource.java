@@ -0,0 +1,60 @@
+package io.swagger.generator.resource;
+
+import io.swagger.annotations.Api;
+import io.swagger.generator.jobs.JobManager;
+import io.swagger.generator.metrics.TextFormat;
+import io.swagger.generator.online.Generator;
+import io.swagger.generator.online.ResultCache;
+import io.swagger.generator.online.SpecCache;
+import io.swagger.generator.store.ArtifactStore;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+
+@Path("/metrics")
+@Api(hidden = true)
+@SuppressWarnings("static-method")
+public class MetricsResource {
+
+    @GET
+    @Produces({TextFormat.CONTENT_TYPE})
+    public Response metrics() {
+        TextFormat format = new TextFormat();
+        Generator.getMetrics().write(format);
+
+        JobManager jobs = SwaggerResource.getJobManager();
+        format.header("swagger_generator_jobs", "gauge", "Generation jobs waiting for a worker or running.")
+                .sample("swagger_generator_jobs", jobs.getQueuedCount(), "state", "queued")
+                .sample("swagger_generator_jobs", jobs.getRunningCount(), "state", "running");
+        format.header("swagger_generator_jobs_finished_total", "counter", "Generation jobs by outcome.")
+                .sample("swagger_generator_jobs_finished_total", jobs.getCompletedCount(), "outcome", "done")
+                .sample("swagger_generator_jobs_finished_total", jobs.getFailedCount(), "outcome", "failed")
+                .sample("swagger_generator_jobs_finished_total", jobs.getRejectedCount(), "outcome", "rejected");
+
+        ArtifactStore store = SwaggerResource.getArtifactStore();
+        ResultCache resultCache = Generator.getResultCache();
+        format.header("swagger_generator_disk_bytes", "gauge", "Temp disk used by bundles awaiting download "
+                + "and by the result cache.")
+                .sample("swagger_generator_disk_bytes", store.getBytes(), "area", "bundles")
+                .sample("swagger_generator_disk_bytes", resultCache.getBytes(), "area", "result_cache");
+        format.header("swagger_generator_bundles", "gauge", "Bundles awaiting download.")
+                .sample("swagger_generator_bundles", store.size());
+        format.header("swagger_generator_downloads_total", "counter", "Downloads by outcome.")
+                .sample("swagger_generator_downloads_total", store.getHitCount(), "outcome", "found")
+                .sample("swagger_generator_downloads_total", store.getMissCount(), "outcome", "not_found");
+        format.header("swagger_generator_bundles_evicted_total", "counter",
+                "Bundles deleted before they were downloaded.")
+                .sample("swagger_generator_bundles_evicted_total", store.getEvictionCount());
+
+        SpecCache specCache = Generator.getSpecCache();
+        format.header("swagger_generator_cache_requests_total", "counter", "Cache lookups by cache and result.")
+                .sample("swagger_generator_cache_requests_total", resultCache.getHitCount(), "cache", "result", "result", "hit")
+                .sample("swagger_generator_cache_requests_total", resultCache.getMissCount(), "cache", "result", "result", "miss")
+                .sample("swagger_generator_cache_requests_total", specCache.getHitCount(), "cache", "spec", "result", "hit")
+                .sample("swagger_generator_cache_requests_total", specCache.getMissCount(), "cache", "spec", "result", "miss");
+
+        return Response.ok(format.toString(), TextFormat.CONTENT_TYPE).build();
+    }
+}
@@ -4,15 +4,19 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.codegen.CliOption;
-import io.swagger.codegen.Codegen;
-import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigRegistry;
 import io.swagger.codegen.CodegenType;
 import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.jobs.JobManager;
+import io.swagger.generator.model.GenerationJob;
 import io.swagger.generator.model.Generated;
 import io.swagger.generator.model.GeneratorInput;
 import io.swagger.generator.model.ResponseCode;
 import io.swagger.generator.online.Generator;
+import io.swagger.generator.store.ArtifactStore;
+import io.swagger.generator.store.DefaultArtifactStore;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
@@ -20,8 +24,15 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 @Path("/gen")
 @Api(value = "/gen", description = "Resource for generating swagger components")
@@ -29,23 +40,42 @@ import java.util.*;
 public class SwaggerResource {
     static List<String> clients = new ArrayList<String>();
     static List<String> servers = new ArrayList<String>();
-    private static Map<String, Generated> fileMap = new HashMap<String, Generated>();
+    private static volatile ArtifactStore artifactStore = DefaultArtifactStore.fromEnvironment();
+    private static final JobManager jobManager = JobManager.fromEnvironment();
+    // the longest a poll waits for a job to finish
+    private static final long MAX_WAIT_SECONDS = 30;
 
     static {
-        List<CodegenConfig> extensions = Codegen.getExtensions();
-        for (CodegenConfig config : extensions) {
-            if (config.getTag().equals(CodegenType.CLIENT)
-                    || config.getTag().equals(CodegenType.DOCUMENTATION)) {
-                clients.add(config.getName());
-            } else if (config.getTag().equals(CodegenType.SERVER)) {
-                servers.add(config.getName());
-            }
-        }
+        CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance();
+        clients.addAll(registry.getNames(CodegenType.CLIENT));
+        clients.addAll(registry.getNames(CodegenType.DOCUMENTATION));
+        servers.addAll(registry.getNames(CodegenType.SERVER));
 
         Collections.sort(clients, String.CASE_INSENSITIVE_ORDER);
         Collections.sort(servers, String.CASE_INSENSITIVE_ORDER);
     }
 
+    public static ArtifactStore getArtifactStore() {
+        return artifactStore;
+    }
+
+    public static JobManager getJobManager() {
+        return jobManager;
+    }
+
+    /**
+     * Replace the store holding the generated bundles until they are downloaded. The previous store is closed.
+     *
+     * @param artifactStore the artifact store
+     */
+    public static void setArtifactStore(ArtifactStore artifactStore) {
+        ArtifactStore previous = SwaggerResource.artifactStore;
+        SwaggerResource.artifactStore = artifactStore;
+        if (previous != artifactStore && previous instanceof Closeable) {
+            IOUtils.closeQuietly((Closeable) previous);
+        }
+    }
+
     @GET
     @Path("/download/{fileId}")
     @Produces({MediaType.APPLICATION_OCTET_STREAM})
@@ -55,24 +85,36 @@ public class SwaggerResource {
                     + "operations.  The fileId code can be used just once, after which a new `fileId` will need to "
                     + "be requested.", response = String.class, tags = {"clients", "servers"})
     public Response downloadFile(@PathParam("fileId") String fileId) throws Exception {
-        Generated g = fileMap.get(fileId);
+        Generated g = artifactStore.remove(fileId);
         System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
-        if (g.getFilename() != null) {
-            File file = new java.io.File(g.getFilename());
-            byte[] bytes = org.apache.commons.io.FileUtils.readFileToByteArray(file);
-
-            try {
-                FileUtils.deleteDirectory(file.getParentFile());
-            } catch (Exception e) {
-                System.out.println("failed to delete file " + file.getAbsolutePath());
+        if (g != null && g.getFilename() != null) {
+            System.out.println("got filename " + g.getFilename());
+            final File file = new java.io.File(g.getFilename());
+            if (!file.isFile()) {
+                return Response.status(404).build();
             }
 
+            // the archive is streamed to the client and deleted afterwards
+            StreamingOutput stream = new StreamingOutput() {
+                @Override
+                public void write(OutputStream output) throws IOException {
+                    try {
+                        FileUtils.copyFile(file, output);
+                    } finally {
+                        try {
+                            FileUtils.deleteDirectory(file.getParentFile());
+                        } catch (Exception e) {
+                            System.out.println("failed to delete file " + file.getAbsolutePath());
+                        }
+                    }
+                }
+            };
+
             return Response
-                    .ok(bytes, "application/zip")
+                    .ok(stream, "application/zip")
                     .header("Content-Disposition",
                             "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
-                    .header("Accept-Range", "bytes").header("Content-Length", bytes.length).build();
+                    .header("Accept-Range", "bytes").header("Content-Length", file.length()).build();
         } else {
             return Response.status(404).build();
         }
@@ -90,32 +132,67 @@ public class SwaggerResource {
             @ApiParam(value = "Configuration for building the client library", required = true) GeneratorInput opts)
             throws Exception {
 
-        String filename = Generator.generateClient(language, opts);
-        String host = System.getenv("GENERATOR_HOST");
+        ResponseCode responseCode = jobManager.run(language, clientTask(language, opts, host(request)));
+        if (responseCode != null) {
+            return Response.ok().entity(responseCode).build();
+        } else {
+            return Response.status(500).build();
+        }
+    }
 
-        if (StringUtils.isBlank(host)) {
-            String scheme = request.getHeader("X-SSL");
-            String port = "";
-            if ("1".equals(scheme)) {
-                scheme = "https";
-            } else {
-                scheme = request.getScheme();
-                port = ":" + request.getServerPort();
-            }
-            host = scheme + "://" + request.getServerName() + port;
+    @POST
+    @Path("/jobs/clients/{language}")
+    @ApiOperation(
+            value = "Queues the generation of a client library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The returned "
+                    + "job can be polled with `/jobs/{jobId}`, once it is done it provides the download `code`. "
+                    + "Responds with 429 if too many jobs are queued.",
+            response = GenerationJob.class, tags = "clients")
+    public Response submitClient(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "The target language for the client library", required = true) @PathParam("language") String language,
+            @ApiParam(value = "Configuration for building the client library", required = true) GeneratorInput opts)
+            throws Exception {
+
+        return accepted(jobManager.submit(language, clientTask(language, opts, host(request))));
+    }
+
+    @POST
+    @Path("/jobs/servers/{framework}")
+    @ApiOperation(
+            value = "Queues the generation of a server library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The returned "
+                    + "job can be polled with `/jobs/{jobId}`, once it is done it provides the download `code`. "
+                    + "Responds with 429 if too many jobs are queued.",
+            response = GenerationJob.class, tags = "servers")
+    public Response submitServer(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "framework", required = true) @PathParam("framework") String framework,
+            @ApiParam(value = "parameters", required = true) GeneratorInput opts) throws Exception {
+        if (framework == null) {
+            throw new BadRequestException("Framework is required");
         }
+        return accepted(jobManager.submit(framework, serverTask(framework, opts, serverHost(request))));
+    }
 
-        if (filename != null) {
-            String code = String.valueOf(UUID.randomUUID().toString());
-            Generated g = new Generated();
-            g.setFilename(filename);
-            g.setFriendlyName(language + "-client");
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
-            String link = host + "/api/gen/download/" + code;
-            return Response.ok().entity(new ResponseCode(code, link)).build();
+    @GET
+    @Path("/jobs/{jobId}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(
+            value = "Returns the status of a generation job",
+            notes = "With `wait`, responds as soon as the job is done or failed, or after the given number of "
+                    + "seconds (at most " + MAX_WAIT_SECONDS + ").",
+            response = GenerationJob.class, tags = {"clients", "servers"})
+    public Response getJob(
+            @ApiParam(value = "The job id", required = true) @PathParam("jobId") String jobId,
+            @ApiParam(value = "Seconds to wait for the job to finish") @QueryParam("wait") @DefaultValue("0") long wait) {
+        GenerationJob job = wait > 0
+                ? jobManager.await(jobId, Math.min(wait, MAX_WAIT_SECONDS), TimeUnit.SECONDS)
+                : jobManager.get(jobId);
+        if (job != null) {
+            return Response.ok().entity(job).build();
         } else {
-            return Response.status(500).build();
+            return Response.status(404).build();
         }
     }
 
@@ -189,24 +266,76 @@ public class SwaggerResource {
         if (framework == null) {
             throw new BadRequestException("Framework is required");
         }
-        String filename = Generator.generateServer(framework, opts);
-        System.out.println("generated name: " + filename);
-
-        String host =
-                request.getScheme() + "://" + request.getServerName() + ":"
-                        + request.getServerPort();
-
-        if (filename != null) {
-            String code = String.valueOf(UUID.randomUUID().toString());
-            Generated g = new Generated();
-            g.setFilename(filename);
-            g.setFriendlyName(framework + "-server");
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
-            String link = host + "/api/gen/download/" + code;
-            return Response.ok().entity(new ResponseCode(code, link)).build();
+        ResponseCode responseCode = jobManager.run(framework, serverTask(framework, opts, serverHost(request)));
+        if (responseCode != null) {
+            return Response.ok().entity(responseCode).build();
         } else {
             return Response.status(500).build();
         }
     }
+
+    private static Callable<ResponseCode> clientTask(final String language, final GeneratorInput opts,
+                                                     final String host) {
+        return new Callable<ResponseCode>() {
+            @Override
+            public ResponseCode call() throws Exception {
+                String filename = Generator.generateClient(language, opts);
+                return store(filename, language + "-client", host);
+            }
+        };
+    }
+
+    private static Callable<ResponseCode> serverTask(final String framework, final GeneratorInput opts,
+                                                     final String host) {
+        return new Callable<ResponseCode>() {
+            @Override
+            public ResponseCode call() throws Exception {
+                String filename = Generator.generateServer(framework, opts);
+                System.out.println("generated name: " + filename);
+                return store(filename, framework + "-server", host);
+            }
+        };
+    }
+
+    private static ResponseCode store(String filename, String friendlyName, String host) {
+        if (filename == null) {
+            return null;
+        }
+        String code = String.valueOf(UUID.randomUUID().toString());
+        Generated g = new Generated();
+        g.setFilename(filename);
+        g.setFriendlyName(friendlyName);
+        artifactStore.put(code, g);
+        System.out.println(code + ", " + filename);
+        String link = host + "/api/gen/download/" + code;
+        return new ResponseCode(code, link);
+    }
+
+    private static Response accepted(GenerationJob job) {
+        return Response.status(Response.Status.ACCEPTED)
+                .location(URI.create("gen/jobs/" + job.getId()))
+                .entity(job).build();
+    }
+
+    private static String host(HttpServletRequest request) {
+        String host = System.getenv("GENERATOR_HOST");
+
+        if (StringUtils.isBlank(host)) {
+            String scheme = request.getHeader("X-SSL");
+            String port = "";
+            if ("1".equals(scheme)) {
+                scheme = "https";
+            } else {
+                scheme = request.getScheme();
+                port = ":" + request.getServerPort();
+            }
+            host = scheme + "://" + request.getServerName() + port;
+        }
+        return host;
+    }
+
+    private static String serverHost(HttpServletRequest request) {
+        return request.getScheme() + "://" + request.getServerName() + ":"
+                + request.getServerPort();
+    }
 }
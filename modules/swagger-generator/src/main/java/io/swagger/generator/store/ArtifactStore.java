@@ -0,0 +1,54 @@
+package io.swagger.generator.store;
+
+import io.swagger.generator.model.Generated;
+
+/**
+ * Holds the generated bundles until they are downloaded.
+ *
+ * Implementations have to be safe for concurrent use, as bundles are added and taken by concurrent
+ * requests.
+ */
+public interface ArtifactStore {
+
+    /**
+     * Store a generated bundle.
+     *
+     * @param fileId the id the bundle is downloaded with
+     * @param generated the generated bundle
+     */
+    void put(String fileId, Generated generated);
+
+    /**
+     * Take a bundle out of the store, a bundle can be downloaded just once. The caller is responsible for
+     * deleting the file of the bundle.
+     *
+     * @param fileId the id of the bundle
+     * @return the bundle or null if there is no bundle with the given id or it has expired
+     */
+    Generated remove(String fileId);
+
+    /**
+     * @return the number of bundles in the store
+     */
+    long size();
+
+    /**
+     * @return the total size of the files of the bundles in the store
+     */
+    long getBytes();
+
+    /**
+     * @return the number of bundles taken out of the store
+     */
+    long getHitCount();
+
+    /**
+     * @return the number of requests for bundles not in the store
+     */
+    long getMissCount();
+
+    /**
+     * @return the number of bundles evicted because they expired or the store was full
+     */
+    long getEvictionCount();
+}
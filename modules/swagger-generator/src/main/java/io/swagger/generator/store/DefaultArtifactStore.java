@@ -0,0 +1,192 @@
+package io.swagger.generator.store;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import io.swagger.generator.model.Generated;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a bounded number of bundles in memory for a limited time.
+ *
+ * When the store is full the oldest bundle is evicted. Bundles which are not downloaded within the time
+ * to live expire. The temp directory of an evicted or expired bundle is deleted. A background sweeper
+ * removes expired bundles even when the store is not used.
+ */
+public class DefaultArtifactStore implements ArtifactStore, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultArtifactStore.class);
+
+    public static final long DEFAULT_MAX_BUNDLES = 500;
+    public static final long DEFAULT_TTL_MINUTES = 60;
+
+    private final Cache<String, Generated> bundles;
+    private final ScheduledExecutorService sweeper;
+    // the size of the file of each bundle when it was stored
+    private final ConcurrentMap<String, Long> sizes = new ConcurrentHashMap<String, Long>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxBundles the maximum number of bundles in the store
+     * @param ttl the time a bundle is kept in the store
+     * @param unit the unit of the time to live
+     */
+    public DefaultArtifactStore(long maxBundles, long ttl, TimeUnit unit) {
+        this(maxBundles, ttl, unit, Ticker.systemTicker());
+        long sweepInterval = Math.max(1, Math.min(unit.toSeconds(ttl), 60));
+        sweeper.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                cleanUp();
+            }
+        }, sweepInterval, sweepInterval, TimeUnit.SECONDS);
+    }
+
+    DefaultArtifactStore(long maxBundles, long ttl, TimeUnit unit, Ticker ticker) {
+        this.bundles = CacheBuilder.newBuilder()
+                .maximumSize(maxBundles)
+                .expireAfterWrite(ttl, unit)
+                .ticker(ticker)
+                .removalListener(new RemovalListener<String, Generated>() {
+                    @Override
+                    public void onRemoval(RemovalNotification<String, Generated> notification) {
+                        if (notification.getCause() != RemovalCause.REPLACED) {
+                            sizes.remove(notification.getKey());
+                        }
+                        if (notification.wasEvicted()) {
+                            evictions.incrementAndGet();
+                            delete(notification.getValue());
+                        }
+                    }
+                })
+                .build();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "artifact-store-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Create a store configured by the environment variables {@code GENERATOR_MAX_BUNDLES} and
+     * {@code GENERATOR_BUNDLE_TTL_MINUTES}.
+     *
+     * @return the store
+     */
+    public static DefaultArtifactStore fromEnvironment() {
+        return new DefaultArtifactStore(getenv("GENERATOR_MAX_BUNDLES", DEFAULT_MAX_BUNDLES),
+                getenv("GENERATOR_BUNDLE_TTL_MINUTES", DEFAULT_TTL_MINUTES), TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void put(String fileId, Generated generated) {
+        sizes.put(fileId, generated.getFilename() != null ? new File(generated.getFilename()).length() : 0L);
+        bundles.put(fileId, generated);
+    }
+
+    @Override
+    public Generated remove(String fileId) {
+        // expired bundles are still held until the next clean up, but never returned
+        Generated generated = bundles.getIfPresent(fileId);
+        if (generated != null && bundles.asMap().remove(fileId, generated)) {
+            hits.incrementAndGet();
+            return generated;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    @Override
+    public long size() {
+        return bundles.size();
+    }
+
+    @Override
+    public long getBytes() {
+        long bytes = 0;
+        for (Long size : sizes.values()) {
+            bytes += size;
+        }
+        return bytes;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Remove the expired bundles and delete their files.
+     */
+    public void cleanUp() {
+        try {
+            bundles.cleanUp();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to remove expired bundles", e);
+        }
+    }
+
+    /**
+     * Stop the sweeper and delete the files of all bundles in the store.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        for (Generated generated : bundles.asMap().values()) {
+            delete(generated);
+        }
+        bundles.invalidateAll();
+    }
+
+    private static void delete(Generated generated) {
+        if (generated != null && generated.getFilename() != null) {
+            // every bundle is generated into a temp directory of its own
+            File directory = new File(generated.getFilename()).getParentFile();
+            LOGGER.debug("deleting expired bundle " + generated.getFilename());
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private static long getenv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value " + value + " of " + name + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
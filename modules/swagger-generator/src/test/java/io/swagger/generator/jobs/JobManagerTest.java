@@ -0,0 +1,156 @@
+package io.swagger.generator.jobs;
+
+import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.exception.ServiceUnavailableException;
+import io.swagger.generator.exception.TooManyRequestsException;
+import io.swagger.generator.model.GenerationJob;
+import io.swagger.generator.model.ResponseCode;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+public class JobManagerTest {
+
+    private CountDownLatch release;
+    private JobManager jobManager;
+
+    @BeforeMethod
+    public void createLatch() {
+        release = new CountDownLatch(1);
+    }
+
+    @AfterMethod
+    public void close() {
+        release.countDown();
+        if (jobManager != null) {
+            jobManager.close();
+        }
+    }
+
+    @Test(description = "a submitted job can be polled until it is done")
+    public void submitTest() throws Exception {
+        jobManager = new JobManager(1, 10, 10, 1, TimeUnit.HOURS);
+
+        final GenerationJob running = jobManager.submit("java", blocked(null));
+        final GenerationJob job = jobManager.submit("java", blocked(new ResponseCode("code", "link")));
+        assertEquals(job.getStatus(), GenerationJob.Status.QUEUED);
+        assertEquals(jobManager.await(job.getId(), 10, TimeUnit.MILLISECONDS).getStatus(), GenerationJob.Status.QUEUED);
+
+        release.countDown();
+        final GenerationJob done = jobManager.await(job.getId(), 10, TimeUnit.SECONDS);
+        assertEquals(done.getStatus(), GenerationJob.Status.DONE);
+        assertEquals(done.getCode(), "code");
+        assertEquals(done.getLink(), "link");
+        assertEquals(jobManager.get(running.getId()).getStatus(), GenerationJob.Status.DONE);
+        assertEquals(jobManager.getCompletedCount(), 2);
+        assertNull(jobManager.get("unknown"));
+    }
+
+    @Test(description = "the failure of a job is reported by the poll and thrown by a synchronous run")
+    public void failureTest() throws Exception {
+        jobManager = new JobManager(1, 10, 10, 1, TimeUnit.HOURS);
+        final Callable<ResponseCode> failing = new Callable<ResponseCode>() {
+            @Override
+            public ResponseCode call() throws Exception {
+                throw new BadRequestException("invalid spec");
+            }
+        };
+
+        final GenerationJob job = jobManager.submit("java", failing);
+        final GenerationJob failed = jobManager.await(job.getId(), 10, TimeUnit.SECONDS);
+        assertEquals(failed.getStatus(), GenerationJob.Status.FAILED);
+        assertEquals(failed.getMessage(), "invalid spec");
+        try {
+            jobManager.run("java", failing);
+            fail("the failure of the job was not thrown");
+        } catch (BadRequestException e) {
+            assertEquals(e.getMessage(), "invalid spec");
+        }
+        assertEquals(jobManager.getFailedCount(), 2);
+    }
+
+    @Test(description = "jobs are rejected when the queue is full")
+    public void queueLimitTest() throws Exception {
+        jobManager = new JobManager(1, 1, 10, 1, TimeUnit.HOURS);
+        final GenerationJob running = jobManager.submit("java", blocked(null));
+        // the running job has left the queue
+        while (jobManager.get(running.getId()).getStatus() != GenerationJob.Status.RUNNING) {
+            Thread.sleep(1);
+        }
+        jobManager.submit("php", blocked(null));
+
+        try {
+            jobManager.submit("go", blocked(null));
+            fail("the job was queued");
+        } catch (TooManyRequestsException e) {
+            assertEquals(e.getCode(), 429);
+        }
+        assertEquals(jobManager.getRejectedCount(), 1);
+        assertEquals(jobManager.getQueuedCount(), 1);
+    }
+
+    @Test(description = "jobs are rejected when a language has too many queued and running jobs")
+    public void languageLimitTest() throws Exception {
+        jobManager = new JobManager(1, 10, 2, 1, TimeUnit.HOURS);
+        jobManager.submit("java", blocked(null));
+        jobManager.submit("java", blocked(null));
+
+        try {
+            jobManager.submit("java", blocked(null));
+            fail("the job was queued");
+        } catch (TooManyRequestsException e) {
+            assertEquals(e.getCode(), 429);
+        }
+        final GenerationJob other = jobManager.submit("php", blocked(null));
+
+        release.countDown();
+        assertEquals(jobManager.await(other.getId(), 10, TimeUnit.SECONDS).getStatus(), GenerationJob.Status.DONE);
+        jobManager.submit("java", blocked(null));
+    }
+
+    @Test(description = "a synchronous run gives up on a job which doesn't finish in time")
+    public void runTimeoutTest() throws Exception {
+        jobManager = new JobManager(1, 10, 10, 1, TimeUnit.HOURS, 50, TimeUnit.MILLISECONDS);
+        jobManager.submit("java", blocked(null));
+
+        try {
+            jobManager.run("java", blocked(null));
+            fail("the run didn't time out");
+        } catch (ServiceUnavailableException e) {
+            assertEquals(e.getCode(), 503);
+        }
+        // the queued job of the run was removed
+        assertEquals(jobManager.getQueuedCount(), 0);
+        assertEquals(jobManager.getFailedCount(), 1);
+    }
+
+    @Test(description = "queued jobs fail when the job manager is closed")
+    public void closeTest() throws Exception {
+        jobManager = new JobManager(1, 10, 10, 1, TimeUnit.HOURS);
+        jobManager.submit("java", blocked(null));
+        final GenerationJob queued = jobManager.submit("java", blocked(null));
+
+        jobManager.close();
+        final GenerationJob failed = jobManager.await(queued.getId(), 10, TimeUnit.SECONDS);
+        assertEquals(failed.getStatus(), GenerationJob.Status.FAILED);
+        assertEquals(failed.getMessage(), "The generator is shutting down");
+    }
+
+    private Callable<ResponseCode> blocked(final ResponseCode result) {
+        return new Callable<ResponseCode>() {
+            @Override
+            public ResponseCode call() throws Exception {
+                release.await();
+                return result;
+            }
+        };
+    }
+}
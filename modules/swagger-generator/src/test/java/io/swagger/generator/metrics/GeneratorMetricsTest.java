@@ -0,0 +1,57 @@
+package io.swagger.generator.metrics;
+
+import io.swagger.codegen.instrumentation.Instrumentation;
+import io.swagger.codegen.instrumentation.Phase;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class GeneratorMetricsTest {
+
+    @Test(description = "requests are counted by language, type and outcome")
+    public void requestsTest() {
+        final GeneratorMetrics metrics = new GeneratorMetrics();
+        metrics.request("java", "client", GeneratorMetrics.GENERATED);
+        metrics.request("java", "client", GeneratorMetrics.GENERATED);
+        metrics.request("java", "client", GeneratorMetrics.CACHED);
+        metrics.request("no-such-language", "client", GeneratorMetrics.FAILED);
+
+        final String text = write(metrics);
+        assertTrue(text.contains("# TYPE swagger_generator_requests_total counter\n"), text);
+        assertTrue(text.contains("swagger_generator_requests_total{language=\"java\",type=\"client\",outcome=\"generated\"} 2\n"), text);
+        assertTrue(text.contains("swagger_generator_requests_total{language=\"java\",type=\"client\",outcome=\"cached\"} 1\n"), text);
+        assertTrue(text.contains("swagger_generator_requests_total{language=\"other\",type=\"client\",outcome=\"failed\"} 1\n"), text);
+        assertFalse(text.contains("no-such-language"), text);
+    }
+
+    @Test(description = "phase durations and bundle sizes are recorded in cumulative buckets")
+    public void histogramTest() {
+        final GeneratorMetrics metrics = new GeneratorMetrics();
+        metrics.phase(GeneratorMetrics.PARSE, 3000000L);
+        metrics.phase(GeneratorMetrics.PARSE, 7000000L);
+        metrics.bundle(100000);
+        final Instrumentation.Span span = metrics.instrumentation().start(Phase.FLATTEN, null);
+        span.close();
+        metrics.instrumentation().start(Phase.MODELS, "Pet").close();
+
+        final String text = write(metrics);
+        assertTrue(text.contains("swagger_generator_phase_seconds_bucket{phase=\"parse\",le=\"0.005\"} 1\n"), text);
+        assertTrue(text.contains("swagger_generator_phase_seconds_bucket{phase=\"parse\",le=\"0.01\"} 2\n"), text);
+        assertTrue(text.contains("swagger_generator_phase_seconds_bucket{phase=\"parse\",le=\"+Inf\"} 2\n"), text);
+        assertTrue(text.contains("swagger_generator_phase_seconds_sum{phase=\"parse\"} 0.01\n"), text);
+        assertTrue(text.contains("swagger_generator_phase_seconds_count{phase=\"parse\"} 2\n"), text);
+        assertTrue(text.contains("swagger_generator_phase_seconds_count{phase=\"flatten\"} 1\n"), text);
+        // spans of single models are not recorded
+        assertFalse(text.contains("phase=\"models\""), text);
+        assertTrue(text.contains("swagger_generator_bundle_bytes_bucket{le=\"65536\"} 0\n"), text);
+        assertTrue(text.contains("swagger_generator_bundle_bytes_bucket{le=\"262144\"} 1\n"), text);
+        assertTrue(text.contains("swagger_generator_bundle_bytes_sum 100000\n"), text);
+    }
+
+    private static String write(GeneratorMetrics metrics) {
+        final TextFormat format = new TextFormat();
+        metrics.write(format);
+        return format.toString();
+    }
+}
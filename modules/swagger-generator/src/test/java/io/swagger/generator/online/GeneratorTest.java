@@ -0,0 +1,69 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.testng.Assert.assertTrue;
+
+public class GeneratorTest {
+
+    @Test(description = "the bundle holds the files a generator writes on its own next to the rendered files")
+    public void swaggerTargetTest() throws Exception {
+        final GeneratorInput input = new GeneratorInput();
+        input.setSpec(Json.mapper().readTree(getClass().getClassLoader().getResource("petstore.json")));
+
+        final Map<String, String> entries = generateServer("swagger", input);
+        assertTrue(entries.containsKey("swagger-server/swagger.json"), "The spec is missing from " + entries.keySet());
+        assertTrue(entries.containsKey("swagger-server/README.md"), "The readme is missing from " + entries.keySet());
+    }
+
+    @Test(description = "a cached bundle isn't served once a document referenced by the spec changes")
+    public void referencesTest() throws Exception {
+        final File directory = Files.createTempDirectory("generator-test").toFile();
+        try {
+            final File definitions = new File(directory, "definitions.json");
+            final GeneratorInput input = new GeneratorInput();
+            input.setSpec(Json.mapper().readTree("{\"swagger\":\"2.0\",\"info\":{\"title\":\"References\","
+                    + "\"version\":\"1.0.0\"},\"paths\":{},\"definitions\":{\"Pet\":{\"$ref\":\""
+                    + definitions.getAbsolutePath().replace('\\', '/') + "#/Pet\"}}}"));
+
+            FileUtils.writeStringToFile(definitions, "{\"Pet\":{\"description\":\"first\"}}", StandardCharsets.UTF_8);
+            assertTrue(generateServer("swagger", input).get("swagger-server/swagger.json").contains("first"));
+            FileUtils.writeStringToFile(definitions, "{\"Pet\":{\"description\":\"second\"}}", StandardCharsets.UTF_8);
+            assertTrue(generateServer("swagger", input).get("swagger-server/swagger.json").contains("second"));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    private static Map<String, String> generateServer(String language, GeneratorInput input) throws Exception {
+        final File bundle = new File(Generator.generateServer(language, input));
+        final Map<String, String> entries = new HashMap<String, String>();
+        try {
+            ZipFile zip = new ZipFile(bundle);
+            try {
+                for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements(); ) {
+                    ZipEntry entry = e.nextElement();
+                    entries.put(entry.getName(), IOUtils.toString(zip.getInputStream(entry), StandardCharsets.UTF_8));
+                }
+            } finally {
+                zip.close();
+            }
+        } finally {
+            FileUtils.deleteQuietly(bundle.getParentFile());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,107 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ResultCacheTest {
+
+    private File directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("result-cache-test").toFile();
+    }
+
+    @AfterMethod
+    public void deleteDirectory() {
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test(description = "the key depends on the content of the spec, including the order of fields, and the options")
+    public void keyTest() throws IOException {
+        final JsonNode spec = Json.mapper().readTree("{\"swagger\":\"2.0\",\"info\":{\"title\":\"a\",\"version\":\"1\"}}");
+        final JsonNode reordered = Json.mapper().readTree("{\"info\":{\"version\":\"1\",\"title\":\"a\"},\"swagger\":\"2.0\"}");
+        final JsonNode changed = Json.mapper().readTree("{\"swagger\":\"2.0\",\"info\":{\"title\":\"b\",\"version\":\"1\"}}");
+        final Map<String, String> options = new HashMap<String, String>();
+        options.put("modelPackage", "model");
+
+        final String key = ResultCache.key("client", "java", options, spec, null);
+        assertEquals(ResultCache.key("client", "java", options, Json.mapper().readTree(spec.toString()), null), key);
+        assertNotEquals(ResultCache.key("client", "java", options, reordered, null), key);
+        assertNotEquals(ResultCache.key("client", "java", options, changed, null), key);
+        assertNotEquals(ResultCache.key("server", "java", options, spec, null), key);
+        assertNotEquals(ResultCache.key("client", "php", options, spec, null), key);
+        assertNotEquals(ResultCache.key("client", "java", Collections.<String, String>emptyMap(), spec, null), key);
+        assertNotEquals(ResultCache.key("client", "java", options, spec, "header:token:secret"), key);
+    }
+
+    @Test(description = "a cached bundle is provided to every request and survives the deletion of the copies")
+    public void getTest() throws IOException {
+        final ResultCache cache = new ResultCache(new File(directory, "cache"), 1024);
+        final File target = new File(directory, "first/java-client-bundle.zip");
+
+        assertFalse(cache.get("key", target));
+        final File bundle = bundle(new File(directory, "bundle.zip"), 10);
+        cache.put("key", bundle);
+        FileUtils.deleteQuietly(bundle);
+
+        assertTrue(cache.get("key", target));
+        assertEquals(target.length(), 10);
+        FileUtils.deleteQuietly(target);
+        final File other = new File(directory, "second/java-client-bundle.zip");
+        assertTrue(cache.get("key", other));
+        assertEquals(other.length(), 10);
+
+        assertEquals(cache.size(), 1);
+        assertEquals(cache.getBytes(), 10);
+        assertEquals(cache.getHitCount(), 2);
+        assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test(description = "the least recently used bundles are evicted when the cache exceeds its size")
+    public void evictTest() throws IOException {
+        final File cacheDirectory = new File(directory, "cache");
+        final ResultCache cache = new ResultCache(cacheDirectory, 25);
+        cache.put("a", bundle(new File(directory, "a.zip"), 10));
+        cache.put("b", bundle(new File(directory, "b.zip"), 10));
+        assertTrue(cache.get("a", new File(directory, "a-copy.zip")));
+
+        cache.put("c", bundle(new File(directory, "c.zip"), 10));
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getBytes(), 20);
+        assertFalse(new File(cacheDirectory, "b.zip").exists());
+        assertFalse(cache.get("b", new File(directory, "b-copy.zip")));
+        assertTrue(cache.get("c", new File(directory, "c-copy.zip")));
+
+        // bundles larger than the cache are not cached
+        cache.put("d", bundle(new File(directory, "d.zip"), 30));
+        assertFalse(cache.get("d", new File(directory, "d-copy.zip")));
+        assertEquals(cache.size(), 2);
+    }
+
+    private static File bundle(File file, int size) throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            contents.append('x');
+        }
+        FileUtils.writeStringToFile(file, contents.toString(), StandardCharsets.UTF_8);
+        return file;
+    }
+}
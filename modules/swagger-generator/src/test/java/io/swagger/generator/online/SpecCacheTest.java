@@ -0,0 +1,131 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class SpecCacheTest {
+
+    @Test(description = "a local spec is read again once it changes")
+    public void fileTest() throws IOException {
+        final File directory = Files.createTempDirectory("spec-cache-test").toFile();
+        try {
+            final File spec = new File(directory, "petstore.json");
+            FileUtils.copyInputStreamToFile(getClass().getResourceAsStream("/petstore.json"), spec);
+            final SpecCache cache = new SpecCache(10);
+
+            final JsonNode first = cache.read(spec.getAbsolutePath(), null);
+            assertEquals(first.get("info").get("title").asText(), "Swagger Petstore");
+            ((ObjectNode) first.get("info")).put("title", "changed by the caller");
+            assertEquals(cache.read(spec.getAbsolutePath(), null).get("info").get("title").asText(), "Swagger Petstore");
+            assertEquals(cache.getHitCount(), 1);
+            assertEquals(cache.getMissCount(), 1);
+
+            final String changed = FileUtils.readFileToString(spec, StandardCharsets.UTF_8)
+                    .replace("Swagger Petstore", "Changed Pet Store");
+            FileUtils.writeStringToFile(spec, changed, StandardCharsets.UTF_8);
+            assertEquals(cache.read(spec.getAbsolutePath(), null).get("info").get("title").asText(), "Changed Pet Store");
+            assertEquals(cache.getMissCount(), 2);
+            assertEquals(cache.size(), 1);
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test(description = "a remote spec is revalidated with its ETag")
+    public void etagTest() throws IOException {
+        final byte[] spec = IOUtils.toByteArray(getClass().getResourceAsStream("/petstore.json"));
+        final AtomicInteger fetched = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/swagger.json", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                } else {
+                    fetched.incrementAndGet();
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, spec.length);
+                    OutputStream out = exchange.getResponseBody();
+                    out.write(spec);
+                }
+                exchange.close();
+            }
+        });
+        server.start();
+        try {
+            final String url = "http://localhost:" + server.getAddress().getPort() + "/swagger.json";
+            final SpecCache cache = new SpecCache(10);
+
+            assertEquals(cache.read(url, null).get("info").get("title").asText(), "Swagger Petstore");
+            // parsed from the response of the revalidation
+            assertEquals(fetched.get(), 1);
+            assertEquals(cache.read(url, null).get("info").get("title").asText(), "Swagger Petstore");
+            assertEquals(fetched.get(), 1);
+            assertEquals(cache.getHitCount(), 1);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test(description = "the documents a spec references are revalidated with the spec")
+    public void referencesTest() throws IOException {
+        final File directory = Files.createTempDirectory("spec-cache-test").toFile();
+        try {
+            final File spec = new File(directory, "spec.yaml");
+            final File definitions = new File(directory, "definitions.yaml");
+            FileUtils.writeStringToFile(spec, "swagger: '2.0'\n"
+                    + "info:\n"
+                    + "  title: References\n"
+                    + "  version: 1.0.0\n"
+                    + "paths: {}\n"
+                    + "definitions:\n"
+                    + "  Pet:\n"
+                    + "    $ref: 'definitions.yaml#/Pet'\n", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(definitions, "Pet:\n  description: first\n", StandardCharsets.UTF_8);
+            final SpecCache cache = new SpecCache(10);
+
+            assertEquals(cache.read(spec.getAbsolutePath(), null).get("definitions").get("Pet").get("description").asText(), "first");
+            assertEquals(cache.read(spec.getAbsolutePath(), null).get("definitions").get("Pet").get("description").asText(), "first");
+            assertEquals(cache.getHitCount(), 1);
+            FileUtils.writeStringToFile(definitions, "Pet:\n  description: second\n", StandardCharsets.UTF_8);
+            assertEquals(cache.read(spec.getAbsolutePath(), null).get("definitions").get("Pet").get("description").asText(), "second");
+            assertEquals(cache.getHitCount(), 1);
+            assertEquals(cache.getMissCount(), 2);
+            assertEquals(cache.size(), 1);
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test(description = "specs whose location isn't a hierarchical file URI are not cached")
+    public void opaqueUriTest() {
+        final SpecCache cache = new SpecCache(10);
+        cache.read("file:does-not-exist.json", null);
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test(description = "invalid specs are not cached")
+    public void invalidTest() {
+        final SpecCache cache = new SpecCache(10);
+        assertNull(cache.read(new File("does-not-exist.json").getAbsolutePath(), null));
+        assertEquals(cache.size(), 0);
+    }
+}
@@ -0,0 +1,99 @@
+package io.swagger.generator.store;
+
+import com.google.common.base.Ticker;
+import io.swagger.generator.model.Generated;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class DefaultArtifactStoreTest {
+
+    @Test(description = "a bundle can be downloaded just once")
+    public void removeTest() throws IOException {
+        final DefaultArtifactStore store = new DefaultArtifactStore(10, 1, TimeUnit.HOURS, Ticker.systemTicker());
+        final Generated generated = bundle();
+
+        store.put("id", generated);
+        assertSame(store.remove("id"), generated);
+        assertNull(store.remove("id"));
+        assertNull(store.remove("unknown"));
+
+        assertEquals(store.getHitCount(), 1);
+        assertEquals(store.getMissCount(), 2);
+        assertEquals(store.getEvictionCount(), 0);
+        // the caller deletes the bundle after the download
+        assertTrue(new File(generated.getFilename()).isFile());
+        FileUtils.deleteQuietly(new File(generated.getFilename()).getParentFile());
+    }
+
+    @Test(description = "expired bundles are evicted and deleted")
+    public void expireTest() throws IOException {
+        final FakeTicker ticker = new FakeTicker();
+        final DefaultArtifactStore store = new DefaultArtifactStore(10, 1, TimeUnit.MINUTES, ticker);
+        final Generated expired = bundle();
+        store.put("expired", expired);
+        ticker.advance(30, TimeUnit.SECONDS);
+        final Generated current = bundle();
+        store.put("current", current);
+
+        ticker.advance(31, TimeUnit.SECONDS);
+        store.cleanUp();
+
+        assertEquals(store.size(), 1);
+        assertEquals(store.getEvictionCount(), 1);
+        assertFalse(new File(expired.getFilename()).exists());
+        assertNull(store.remove("expired"));
+        assertSame(store.remove("current"), current);
+        FileUtils.deleteQuietly(new File(current.getFilename()).getParentFile());
+    }
+
+    @Test(description = "the oldest bundles are evicted and deleted when the store is full")
+    public void maximumSizeTest() throws IOException {
+        final DefaultArtifactStore store = new DefaultArtifactStore(2, 1, TimeUnit.HOURS, Ticker.systemTicker());
+        final Generated first = bundle();
+        store.put("first", first);
+        store.put("second", bundle());
+        store.put("third", bundle());
+
+        assertEquals(store.size(), 2);
+        assertEquals(store.getEvictionCount(), 1);
+        assertFalse(new File(first.getFilename()).exists());
+        assertNull(store.remove("first"));
+
+        store.close();
+        assertEquals(store.size(), 0);
+    }
+
+    private static Generated bundle() throws IOException {
+        final File directory = Files.createTempDirectory("codegen-").toFile();
+        final File file = new File(directory, "java-client-bundle.zip");
+        FileUtils.writeByteArrayToFile(file, new byte[]{1, 2, 3});
+        final Generated generated = new Generated();
+        generated.setFilename(file.getAbsolutePath());
+        generated.setFriendlyName("java-client");
+        return generated;
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long time, TimeUnit unit) {
+            nanos += unit.toNanos(time);
+        }
+    }
+}